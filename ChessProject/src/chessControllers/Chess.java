@@ -1,7 +1,6 @@
 package chessControllers;
 
 import java.awt.BorderLayout;
-import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Label;
@@ -9,28 +8,29 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.Stack;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
+import chessEngine.Search;
+import chessEngine.SearchLimits;
+import chessEngine.SearchResult;
+import chessModel.GameStatus;
+import chessModel.Moves;
+import chessModel.Position;
+import chessModel.Side;
 import chessObjects.ChessBoard;
-import chessObjects.Move;
 import chessObjects.Square;
-import chessPieces.Bishop;
 import chessPieces.ChessPiece;
-import chessPieces.Knight;
-import chessPieces.Pawn;
-import chessPieces.Queen;
-import chessPieces.Rook;
+import chessPieces.PieceType;
 
 import javax.swing.JOptionPane;
 
 /**
- * Controller for chess game. Includes Instances of ChessBoard and ChessPieceController. This class
- * registers user clicks and processes them through ChessBoard/ChessPieceController
+ * Controller for chess game. Includes Instances of Game, ChessBoard and ChessPieceController. This class
+ * registers user clicks and processes them through the Game it shows, and ChessBoard/ChessPieceController
  * @author Lorenzo Battigelli
  *
  */
@@ -40,54 +40,40 @@ public class Chess extends JPanel {
 	private static final long serialVersionUID = 1L;
 	/** Width in pixels of border surrounding chess board */
 	private int borderWidth = 20;
-	/** Dimension in pixels of chess board square */
-	private static int squareDimension = 60;
 	/** X dimension in pixels of canvas window */
-	private int canvasDimensionY = getSquareDimension() * 8 + borderWidth * 2;
+	private int canvasDimensionY = Game.getSquareDimension() * 8 + borderWidth * 2;
 	/** Y dimension in pixels of canvas window */
-	private int canvasDimensionX = getSquareDimension() * 12 + borderWidth * 2;
-	/** Instance of ChessPieces used to display piece graphics */
-	private static ChessPieceController pieceGraphics = new ChessPieceController();
+	private int canvasDimensionX = Game.getSquareDimension() * 12 + borderWidth * 2;
+	/** Game shown and played in this window */
+	private Game game;
 	/** Instance of ChessBoard used to display board graphics */
-	private static ChessBoard boardGraphics = new ChessBoard();
-	/** 2D array of Squares used to determine piece occupation (boolean) */
-	private static Square[][] squares = new Square[8][8];
+	private ChessBoard boardGraphics;
+	/** Instance of ChessPieces used to display piece graphics */
+	private ChessPieceController pieceGraphics;
 	/** Label used for detecting mouse clicks */
-	private static Label mouseLabel;
+	private Label mouseLabel;
 	/** Number representing whether click will select piece to move (0) or square to move piece to (1) */
-	private static int clickNum = 0;
+	private int clickNum = 0;
+	/** Promotion piece types in the order the promotion menu shows them, top to bottom */
+	private static final PieceType[] PROMOTION_MENU = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
 	/** Square representing location of first click. This is used in functionality after second click is made */
-	private static Square firstClick;
-	/** Square representing location of last move's second click. This is used in functionality for en-passant */
-	private static Square lastClick;
-	/** Color representing current turn to move */
-	private static Color turn;
-	/** Color representing opposite side (whose turn it isn't) */
-	private static Color oppositeTurn;
-	/** Boolean for whether or not either king is in check */
-	private static boolean check;
-	/** Boolean for debugging (used for printing variables) */
-	public static boolean debug;
-	/** Stack of Moves before the current board position, used for navigating through the game */
-	private static Stack<Move> movesBefore;
-	/** Stack of Moves after the current board position, used for navigating through the game */
-	private static Stack<Move> movesAfter;
-	private static boolean promoting;
+	private Square firstClick;
+	/** Time in milliseconds the engine searches for a move */
+	private static final long ENGINE_MOVE_TIME = 1000;
+	/** Engine playing moves for the side to move */
+	private Search engine = new Search();
+	/** True while the engine searches, when clicks on the board are ignored */
+	private boolean searching = false;
 
 	/**
-	 * Constructor - initializes all fields, MouseListener, and pieces
+	 * Constructor - initializes all fields, MouseListener, and a new game
 	 */
 	public Chess() {
-		turn = Color.WHITE;
-		oppositeTurn = Color.BLACK;
-		setupSquares();
+		game = new Game();
+		game.setDebug(true);
+		boardGraphics = new ChessBoard();
+		pieceGraphics = new ChessPieceController(game, boardGraphics);
 		setupClicks();
-		pieceGraphics.populatePieces();
-		check = false;
-		movesBefore = new Stack<Move>();
-		movesAfter = new Stack<Move>();
-		promoting = false;
-		debug = true;
 	}
 	
 	@Override
@@ -103,7 +89,9 @@ public class Chess extends JPanel {
 		JPanel buttonPanel = new JPanel();
 		JFrame gameFrame = new JFrame("Chess");
 		JButton flipBoardButton = new JButton("Flip board");
+		JButton engineMoveButton = new JButton("Engine move");
 		buttonPanel.add(flipBoardButton);
+		buttonPanel.add(engineMoveButton);
 		gameFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		gameFrame.getContentPane().add(ch);
 		gameFrame.pack();
@@ -112,16 +100,21 @@ public class Chess extends JPanel {
 		gameFrame.add(buttonPanel, BorderLayout.EAST);
 		gameFrame.addMouseListener(new MouseAdapter(){
 			public void mouseClicked(MouseEvent e) {
-				mouseClick(e.getX(), e.getY());
+				ch.mouseClick(e.getX(), e.getY());
 				gameFrame.repaint();
 			}                
 		});
 		flipBoardButton.addActionListener(new ActionListener() { 
 			  public void actionPerformed(ActionEvent e) { 
-			    flipBoard();
+			    ch.flipBoard();
 			    gameFrame.repaint();
 			  } 
 			} );
+		engineMoveButton.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				ch.engineMove(gameFrame);
+			}
+		});
 	}
 
 	@Override
@@ -136,7 +129,9 @@ public class Chess extends JPanel {
 	 * @param x x-coordinate pixel of click
 	 * @param y y-coordinate pixel of click
 	 */
-	private static void mouseClick(int x, int y) {
+	private void mouseClick(int x, int y) {
+		if (searching)
+			return;
 		//offsets are used to move origin (0,0) to top left of chess board
 		printOccupied();
 		x -= 27;
@@ -146,47 +141,16 @@ public class Chess extends JPanel {
 			return;
 		Square newSquare = coordToSquare(x, y);
 	//	System.out.println(getPiece(newSquare).getClass().toString() + isOccupied(newSquare.getXSquare(), newSquare.getYSquare()));
-		if (promoting) {
-			Color orientation = boardGraphics.getOrientation();
-			Color newPieceColor = boardGraphics.getPromotionColor();
-			Square promoSquare = boardGraphics.getPromotionSquare();
-			Square above1 = null, above2 = null, above3 = null, below1 = null, below2 = null, below3 = null;
-			if (newPieceColor.equals(Color.BLACK) && orientation.equals(Color.WHITE) || orientation.equals(Color.BLACK) && newPieceColor.equals(Color.WHITE)) {
-				above1 = squares[promoSquare.getXSquare()][promoSquare.getYSquare() - 1];
-				above2 = squares[promoSquare.getXSquare()][promoSquare.getYSquare() - 2];
-				above3 = squares[promoSquare.getXSquare()][promoSquare.getYSquare() - 3];
-			} else {
-				below1 = squares[promoSquare.getXSquare()][promoSquare.getYSquare() + 1];
-				below2 = squares[promoSquare.getXSquare()][promoSquare.getYSquare() + 2];
-				below3 = squares[promoSquare.getXSquare()][promoSquare.getYSquare() + 3];
-			}
-			char type = ' ';
-			if (newPieceColor.equals(Color.WHITE)) {
-				if (boardGraphics.getOrientation().equals(Color.WHITE)) {
-					if (newSquare.equalsXY(promoSquare)) type = 'k';
-					if (newSquare.equalsXY(below1)) type = 'b';
-					if (newSquare.equalsXY(below2)) type = 'r';
-					if (newSquare.equalsXY(below3)) type = 'q';
-				} else {
-					if (newSquare.equalsXY(promoSquare)) type = 'q';
-					if (newSquare.equalsXY(above1)) type = 'r';
-					if (newSquare.equalsXY(above2)) type = 'b';
-					if (newSquare.equalsXY(above3)) type = 'k';
-				}
-			} else {
-				if (boardGraphics.getOrientation().equals(Color.WHITE)) {
-					if (newSquare.equalsXY(promoSquare)) type = 'q';
-					if (newSquare.equalsXY(above1)) type = 'r';
-					if (newSquare.equalsXY(above2)) type = 'b';
-					if (newSquare.equalsXY(above3)) type = 'k';
-				} else {
-					if (newSquare.equalsXY(promoSquare)) type = 'k';
-					if (newSquare.equalsXY(below1)) type = 'b';
-					if (newSquare.equalsXY(below2)) type = 'r';
-					if (newSquare.equalsXY(below3)) type = 'q';
-				}
+		if (game.isPromoting()) {
+			// clicks off the promotion menu are ignored until a piece is chosen
+			Square promoSquare = game.getPromotionSquare();
+			int row = boardGraphics.viewY(newSquare.getYSquare()) - boardGraphics.getPromotionMenuTop();
+			if (newSquare.getXSquare() == promoSquare.getXSquare() && row >= 0 && row < PROMOTION_MENU.length) {
+				game.promote(PROMOTION_MENU[row]);
+				boardGraphics.closePromotionMenu();
+				stopHighlight(firstClick);
+				showGameStatus();
 			}
-			promoteReplace(newPieceColor, type);
 			return;
 		}
 		switch(click()) {
@@ -194,17 +158,18 @@ public class Chess extends JPanel {
 	//		System.out.println("Click one.");
 	//		System.out.println("Secondclick x: " + newSquare.getxSquare() + " Secondclick y: " + newSquare.getySquare());
 			move(firstClick, newSquare);
-			stopHighlight(firstClick);
-			if (pieceGraphics.checkmate()) {
-				String side = (turn.equals(Color.BLACK)) ? "White": "Black"; 
-				popupMessage(side + " wins.", "Checkmate");
+			if (game.isPromoting()) {
+				boardGraphics.promoteSquare(game.getPromotionSquare(), game.getPromotionSide());
+				break;
 			}
+			stopHighlight(firstClick);
+			showGameStatus();
 			break;
 		case 0:
 	//		System.out.println("Click zero.");
 			firstClick = newSquare;
 			highlight(firstClick);
-	//		if (Chess.debug) printSightSquares(firstClick);
+	//		if (debug) printSightSquares(firstClick);
 	//		System.out.println("Firstclick x: " + firstClick.getxSquare() + " Firstclick y: " + firstClick.getySquare());
 			break;
 		default:
@@ -212,6 +177,74 @@ public class Chess extends JPanel {
 		}
 	}
 
+	/**
+	 * Lets the engine play a move for the side to move. The search runs on a copy of the position in a
+	 * background thread, and the move it finds is played on the event dispatch thread. The board takes
+	 * clicks again once the search ended, even if it failed
+	 * @param frame window to repaint after the move
+	 */
+	private void engineMove(JFrame frame) {
+		if (searching || game.isPromoting() || game.getGameStatus().isOver())
+			return;
+		searching = true;
+		Position root = new Position(game.getPosition());
+		SearchLimits limits = new SearchLimits();
+		limits.setMoveTime(ENGINE_MOVE_TIME);
+		new Thread(new Runnable() {
+			public void run() {
+				SearchResult result = null;
+				try {
+					result = engine.search(root, limits);
+				} finally {
+					showEngineMove(result, frame);
+				}
+			}
+		}).start();
+	}
+
+	/**
+	 * Plays the move of a finished engine search on the event dispatch thread, and lets the board take
+	 * clicks again
+	 * @param result result of the search, null if it failed
+	 * @param frame window to repaint after the move
+	 */
+	private void showEngineMove(SearchResult result, JFrame frame) {
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				searching = false;
+				if (result == null) {
+					popupMessage("The engine search failed.", "Engine move");
+					frame.repaint();
+					return;
+				}
+				int move = result.getBestMove();
+				if (move == Moves.NONE) {
+					popupMessage("The engine found no move.", "Engine move");
+				} else if (!game.playMove(move)) {
+					popupMessage("The engine move " + Moves.toString(move) + " could not be played.", "Engine move");
+				} else {
+					if (clickNum == 1)
+						click();
+					stopHighlight(firstClick);
+					showGameStatus();
+				}
+				frame.repaint();
+			}
+		});
+	}
+
+	/**
+	 * Shows a popup message if the last move ended the game
+	 */
+	private void showGameStatus() {
+		GameStatus status = game.getGameStatus();
+		if (status == GameStatus.CHECKMATE) {
+			popupMessage(game.getOppositeTurn().getName() + " wins.", status.getDescription());
+		} else if (status.isOver()) {
+			popupMessage("Draw.", status.getDescription());
+		}
+	}
+
 	/**
 	 * Creates label across chess board for click detection
 	 */
@@ -225,34 +258,23 @@ public class Chess extends JPanel {
 	 * Determines whether click is to select piece to move, or square to move selected piece to
 	 * @return old clickNum value
 	 */
-	private static int click() {
+	private int click() {
 		return clickNum == 0 ? clickNum++ : clickNum--;
 	}
 	
 	/**
-	 * Converts pixel x, y (0-479) to chess board square x, y (0-7)
+	 * Converts pixel x, y (0-479) to chess board square x, y (0-7), undoing the board orientation
 	 * @param x x component of pixel
 	 * @param y y component of pixel
 	 * @return Square of converted x, y
 	 */
-	private static Square coordToSquare(int x, int y) {
-		int xS = (int) Math.ceil(x / getSquareDimension());
-		int yS = (int) Math.ceil(y / getSquareDimension());
-		return squares[xS][yS];
+	private Square coordToSquare(int x, int y) {
+		int xS = (int) Math.ceil(x / Game.getSquareDimension());
+		int yS = (int) Math.ceil(y / Game.getSquareDimension());
+		return Square.of(boardGraphics.viewX(xS), boardGraphics.viewY(yS));
 		//System.out.println("xS: " + xS + '\n' + "yS: " + yS);
 	}
 	
-	/**
-	 * Returns whether or not specified square has piece or not
-	 * @param x x component of chess board square
-	 * @param y x component of chess board square
-	 * @return true if occupied, else false
-	 */
-	public static boolean isOccupied(int x, int y) {
-		if (x > 7 || y > 7 || x < 0 || y < 0) return false;
-		return squares[x][y].isOccupied();
-	}
-	
 	/**
 	 * Returns the square of specified coordinates
 	 * @param x coordinate of square
@@ -261,18 +283,7 @@ public class Chess extends JPanel {
 	 */
 	public Square getSquare(int x, int y) {
 		if (x > 7 || y > 7 || x < 0 || y < 0) return null;
-		return squares[x][y];
-	}
-	
-	/**
-	 * Initializes board squares with characteristics of new chess game
-	 */
-	private void setupSquares() {
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				squares[i][j] = new Square(i, j, j < 6 && j > 1 ? false : true);
-			}
-		}
+		return Square.of(x, y);
 	}
 	
 	/**
@@ -281,88 +292,28 @@ public class Chess extends JPanel {
 	 * @param end square for piece to move to
 	 * @return true if piece moves, false otherwise
 	 */
-	private static boolean move(Square start, Square end) {
-		return pieceGraphics.movePiece(start.getXSquare(), start.getYSquare(), end.getXSquare(), end.getYSquare());
-	}
-	
-	/**
-	 * Returns the dimension of a single board square in pixels
-	 * @return squareDimension
-	 */
-	public static int getSquareDimension() {
-		return squareDimension;
-	}
-	
-	/**
-	 * Returns the piece of specified square coordinates
-	 * @param x2 x coordinate of square to find piece
-	 * @param y2 y coordinate of square to find piece
-	 * @return piece if one exists, otherwise a blue pawn to avoid NPE
-	 */
-	public static ChessPiece getPiece(int x2, int y2) {
-		return pieceGraphics.getPiece(x2, y2);
-	}
-	
-	/**
-	 * Returns piece of specified square
-	 * @param sq square to find piece on
-	 * @return piece if one exists, otherwise a blue pawn to avoid NPE
-	 */
-	public static ChessPiece getPiece(Square sq) {
-		return getPiece(sq.getXSquare(), sq.getYSquare());
-	}
-	
-	/**
-	 * Sets square (x1, y1) occupied to false and square (x2, y2) occupied to true. This is used
-	 * in chess piece movement functionality
-	 * @param x1 x coordinate of square piece is moving from
-	 * @param y1 y coordinate of square piece is moving from
-	 * @param x2 x coordinate of square piece is moving to
-	 * @param y2 y coordinate of square piece is moving to
-	 */
-	public static void switchOccupation(int x1, int y1, int x2, int y2) {
-		squares[x1][y1].setOccupied(false);
-		squares[x2][y2].setOccupied(true);
-	}
-	
-	public static void setOccupation(int x, int y, boolean occupied) {
-		squares[x][y].setOccupied(occupied);
-	}
-	
-	/**
-	 * Returns the square that was last clicked. Used for en-passant
-	 * @return lastClick square
-	 */
-	public static Square getLastClick() {
-		return lastClick;
+	private boolean move(Square start, Square end) {
+		return game.movePiece(start.getXSquare(), start.getYSquare(), end.getXSquare(), end.getYSquare());
 	}
 	
 	/**
 	 * [Debugging method] Prints all chess board square's occupied field
 	 */
-	public static void printOccupied() {
+	public void printOccupied() {
 		for (int i = 0; i < 8; i++) {
 			for (int j = 0; j < 8; j++) {
-				System.out.print("(" + j + ", " + i + ") " + squares[j][i].isOccupied() + " ");
+				System.out.print("(" + j + ", " + i + ") " + game.isOccupied(j, i) + " ");
 			}
 			System.out.println();
 		}
 	}
 	
-	/**
-	 * Sets the lastClick field to a passed square
-	 * @param sq square to set lastClick to
-	 */
-	public static void assignLastClick(Square sq) {
-		lastClick = sq;
-	}
-	
 	/**
 	 * Highlights the passed square in either dark gray or light gray - whichever is
 	 * closest to the square's initial color
 	 * @param sq square to highlight
 	 */
-	public static void highlight(Square sq) {
+	public void highlight(Square sq) {
 		boardGraphics.highlight(sq);
 	}
 	
@@ -370,57 +321,16 @@ public class Chess extends JPanel {
 	 * Returns square to initial color
 	 * @param sq square to stop highlighting
 	 */
-	public static void stopHighlight(Square sq) {
+	public void stopHighlight(Square sq) {
 		boardGraphics.stopHighlight(sq);
 	}
 	
 	/**
-	 * Flips turn field to be opposite color
-	 */
-	public static void takeTurn() {
-		turn = (turn.equals(Color.WHITE)) ? Color.BLACK: Color.WHITE; 
-		oppositeTurn = (oppositeTurn.equals(Color.WHITE)) ? Color.BLACK: Color.WHITE; 
-	}
-	
-	/**
-	 * Returns the current turn color
-	 * @return turn color
-	 */
-	public static Color getTurn() {
-		return turn;
-	}
-	
-	public static Color getOppositeTurn() {
-		return oppositeTurn;
-	}
-	
-	/**
-	 * Returns true if specified square is not attacked by piece of opposite color as kingColor. Used
-	 * in king movement functionality
-	 * @param x2 x coordinate of square
-	 * @param y2 y coordinate of square
-	 * @param kingColor color of king
-	 * @return true if not attacked, false otherwise
-	 */
-	public static boolean notAttacked(int x2, int y2, Color kingColor) {
-		return ChessPieceController.notAttacked(x2, y2, kingColor);
-	}
-	
-	/**
-	 * Returns the King chess piece of specified color
-	 * @param kingColor color of king to find
-	 * @return king of passed color
+	 * Returns the game shown in this window
+	 * @return game
 	 */
-	public static ChessPiece findKing(Color kingColor) {
-		return ChessPieceController.findKing(kingColor);
-	}
-	
-	/**
-	 * Returns the check field, representing if either king is in check
-	 * @return check boolean
-	 */
-	public static boolean getCheck() {
-		return check;
+	public Game getGame() {
+		return game;
 	}
 	
 	/**
@@ -438,36 +348,15 @@ public class Chess extends JPanel {
 	 * [Debugging method] Prints the threatened squares of the piece of a passed square
 	 * @param viewpoint square to print piece's threatened squares from
 	 */
-	public static void printSightSquares(Square viewpoint) {
-		ChessPiece temp = getPiece(viewpoint);
+	public void printSightSquares(Square viewpoint) {
+		ChessPiece temp = game.getPiece(viewpoint);
 		for (int i = 0; i < temp.getMoveList().size(); i++) {
-			System.out.println(temp.getColor().toString() + " " + temp.getClass().toString() + 
+			System.out.println(temp.getSide().getName() + " " + temp.getClass().toString() + 
 					" of " + viewpoint.toString() + " can see " + temp.getMoveList().get(i).toString());
 		}
 
 	}
 	
-	public static void addMoveToStack(Move m) {
-		movesBefore.push(m);
-		movesAfter.clear();
-	}
-	
-	public static void nextMove() {
-		if (movesAfter.size() == 0)
-			return;
-		movesBefore.push(movesAfter.pop()).redo();
-	}
-	
-	public static void lastMove() {
-		if (movesBefore.size() == 0)
-			return;
-		movesAfter.push(movesBefore.pop()).undo();
-	}
-	
-	public static boolean kingInCheck(Color kingColor) {
-		return pieceGraphics.kingInCheck(kingColor);
-	}
-	
 //	public static void flashRed(Square sq) {
 //		boardGraphics.flashRed(sq);
 //	}
@@ -477,61 +366,16 @@ public class Chess extends JPanel {
         JOptionPane.showMessageDialog(null, messageText, titleText, JOptionPane.INFORMATION_MESSAGE);
     }
 	
-	public static void flipBoard() {
+	/**
+	 * Flips the board view. Pieces and squares keep their coordinates, only the drawing is mirrored
+	 */
+	public void flipBoard() {
 		boardGraphics.flipBoard();
-		pieceGraphics.flipBoard();
-		flipOccupation();
-		ChessPieceController.updatePieceLists();
-	}
-	
-	public static Color getOrientation() {
-		return boardGraphics.getOrientation();
-	}
-	
-	public static void flipOccupation() {
-		boolean[][] oldOcc = new boolean[8][8];
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				oldOcc[i][j] = isOccupied(i, j);
-			}
-		}
-		int max = 7;
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				squares[max - i][max - j].setOccupied(oldOcc[i][j]);
-			}
-		}
 		stopHighlight(firstClick);
-//		if (firstClick != null) firstClick = new Square(max - firstClick.getXSquare(), max - firstClick.getYSquare(), firstClick.isOccupied());
-//		if (lastClick != null) lastClick = new Square(max - lastClick.getXSquare(), max - lastClick.getYSquare(), lastClick.isOccupied());
-	}
-	
-	public static void promotePawn(Pawn p) {
-		//open graphic for square cutting into quarters, using letters
-		boardGraphics.promoteSquare(new Square(p.getXSquare(), p.getYSquare(), false), p.getColor());
-		promoting = true;
-		p.removePiece();
 	}
 	
-	public static void promoteReplace(Color c, char type) {
-		ChessPiece newPiece = null;
-		int newX = boardGraphics.getPromotionSquare().getXSquare();
-		int newY = boardGraphics.getPromotionSquare().getYSquare();
-		switch(type) {
-		case ('b'): newPiece = new Bishop(newX, newY, newX * squareDimension, newY * squareDimension, c);
-			break;
-		case ('k'): newPiece = new Knight(newX, newY, newX * squareDimension, newY * squareDimension, c);
-			break;
-		case ('r'): newPiece = new Rook(newX, newY, newX * squareDimension, newY * squareDimension, c);
-			break;
-		case ('q'): newPiece = new Queen(newX, newY, newX * squareDimension, newY * squareDimension, c);
-			break;
-		default:
-			stopHighlight(firstClick);
-			boardGraphics.closePromotionMenu();
-			break;
-		}
-		ChessPieceController.putPieceOnBoard(newPiece);
+	public Side getOrientation() {
+		return boardGraphics.getOrientation();
 	}
 	
 	public static void main(String[] args) {
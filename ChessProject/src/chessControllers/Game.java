@@ -0,0 +1,558 @@
+package chessControllers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import chessModel.AttackMap;
+import chessModel.Bitboards;
+import chessModel.GameStatus;
+import chessModel.MoveGenerator;
+import chessModel.Moves;
+import chessModel.Position;
+import chessModel.Side;
+import chessObjects.Move;
+import chessObjects.Square;
+import chessPieces.Bishop;
+import chessPieces.ChessPiece;
+import chessPieces.King;
+import chessPieces.Knight;
+import chessPieces.NoPiece;
+import chessPieces.Pawn;
+import chessPieces.PieceType;
+import chessPieces.Queen;
+import chessPieces.Rook;
+
+/**
+ * One game of chess: the pieces on and off the board, the bitboard Position mirroring them with its
+ * AttackMap, the move history used for navigating through the game and a pending pawn promotion.
+ * Every piece belongs to one game and asks it about the board, so a program can hold any number of
+ * independent games, each used from one thread at a time. Game uses no AWT or Swing, the Chess window
+ * is one client of it
+ */
+public class Game {
+
+	/** Dimension in pixels of a chess board square, the unit piece coordinates move in */
+	private static final int SQUARE_DIMENSION = 60;
+	/** Pixel coordinates pieces on the top left board square are drawn at */
+	private static final int BOARD_X = 20;
+	private static final int BOARD_Y = 18;
+	/** Piece types of the first rank, from the a-file to the h-file */
+	private static final PieceType[] BACK_RANK = {PieceType.ROOK, PieceType.KNIGHT, PieceType.BISHOP, PieceType.QUEEN,
+			PieceType.KING, PieceType.BISHOP, PieceType.KNIGHT, PieceType.ROOK};
+
+	/** List of pieces on board (in play) */
+	private final List<ChessPiece> piecesOn = new ArrayList<ChessPiece>();
+	/** List of pieces off board (not in play) */
+	private final List<ChessPiece> piecesOff = new ArrayList<ChessPiece>();
+	/** Bitboard position mirroring the pieces on board, used for occupancy and ownership checks */
+	private final Position position = new Position();
+	/** Pieces on board indexed by position square (a1 = 0, h8 = 63), NoPiece.EMPTY for empty squares */
+	private final ChessPiece[] board = new ChessPiece[64];
+	/** Attacks of every piece on board, updated only for the squares each move changes */
+	private final AttackMap attackMap = new AttackMap();
+	/** Reusable buffer for the legal moves of the side to move */
+	private final int[] legalMoves = new int[MoveGenerator.MAX_MOVES];
+	/** Status of the game, judged again after every move */
+	private GameStatus status = GameStatus.ONGOING;
+	/** Stack of Moves before the current board position, used for navigating through the game */
+	private final Deque<Move> movesBefore = new ArrayDeque<Move>();
+	/** Stack of Moves after the current board position, used for navigating through the game */
+	private final Deque<Move> movesAfter = new ArrayDeque<Move>();
+	/** Square of the pawn waiting for the piece it promotes to, Square.NONE if no pawn is promoting */
+	private Square promotionSquare = Square.NONE;
+	/** Side of the promoting pawn */
+	private Side promotionSide;
+	/** Move of the promoting pawn, played in the position and history once its piece is chosen */
+	private Move promotionMove;
+	/** Boolean for debugging (used for printing variables) */
+	private boolean debug = false;
+
+	/**
+	 * Constructor - sets up all pieces on their starting squares, white to move
+	 */
+	public Game() {
+		populatePieces();
+	}
+
+	/**
+	 * Initializes all pieces on standard starting squares on chess board
+	 * All pieces are added to PiecesOn list at the start of the game
+	 */
+	private void populatePieces() {
+		for (int x = 0; x < 8; x++) {
+			piecesOn.add(newPiece(PieceType.PAWN, x, 6, Side.WHITE));
+			piecesOn.add(newPiece(BACK_RANK[x], x, 7, Side.WHITE));
+			piecesOn.add(newPiece(PieceType.PAWN, x, 1, Side.BLACK));
+			piecesOn.add(newPiece(BACK_RANK[x], x, 0, Side.BLACK));
+		}
+		position.clear();
+		Arrays.fill(board, NoPiece.EMPTY);
+		for (ChessPiece piece: piecesOn) {
+			placeOnPosition(piece);
+		}
+		position.setCastlingRights(Position.ALL_CASTLING);
+		attackMap.rebuild(position);
+	}
+
+	/**
+	 * Returns a new piece of this game standing on a square, drawn at the pixel coordinates of the square
+	 * @param type type of piece
+	 * @param x x component of piece's square
+	 * @param y y component of piece's square
+	 * @param side side of piece
+	 * @return new piece
+	 */
+	private ChessPiece newPiece(PieceType type, int x, int y, Side side) {
+		int xC = BOARD_X + x * SQUARE_DIMENSION;
+		int yC = BOARD_Y + y * SQUARE_DIMENSION;
+		switch (type) {
+		case PAWN: return new Pawn(this, x, y, xC, yC, side);
+		case KNIGHT: return new Knight(this, x, y, xC, yC, side);
+		case BISHOP: return new Bishop(this, x, y, xC, yC, side);
+		case ROOK: return new Rook(this, x, y, xC, yC, side);
+		case QUEEN: return new Queen(this, x, y, xC, yC, side);
+		case KING: return new King(this, x, y, xC, yC, side);
+		default: throw new IllegalArgumentException("Error: cannot create a piece of type " + type);
+		}
+	}
+
+	/**
+	 * Returns the piece of a specified square, or NoPiece.EMPTY if no piece exists
+	 * @param x2 x coordinate of square to find piece on
+	 * @param y2 y coordinate of square to find piece on
+	 * @return chess piece of desired square
+	 */
+	public ChessPiece getPiece(int x2, int y2) {
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0) return NoPiece.EMPTY;
+		return board[toIndex(x2, y2)];
+	}
+
+	/**
+	 * Returns piece of specified square
+	 * @param sq square to find piece on
+	 * @return piece if one exists, otherwise NoPiece.EMPTY to avoid NPE
+	 */
+	public ChessPiece getPiece(Square sq) {
+		return getPiece(sq.getXSquare(), sq.getYSquare());
+	}
+
+	/**
+	 * Returns whether or not specified square has piece or not
+	 * @param x x component of chess board square
+	 * @param y x component of chess board square
+	 * @return true if occupied, else false
+	 */
+	public boolean isOccupied(int x, int y) {
+		if (x > 7 || y > 7 || x < 0 || y < 0) return false;
+		return position.isOccupied(toIndex(x, y));
+	}
+
+	/**
+	 * Attempts to move piece at square (x1, y1) to square (x2, y2). Move includes capture and castle
+	 * @param x1 x coordinate of square to move piece from
+	 * @param y1 y coordinate of square to move piece from
+	 * @param x2 x coordinate of square to move piece to
+	 * @param y2 y coordinate of square to move piece to
+	 * @return true if piece can move, false otherwise
+	 */
+	public boolean movePiece(int x1, int y1, int x2, int y2) {
+		if (isPromoting() || !isOccupied(x1, y1) || (x1 == x2 && y1 == y2) || getPiece(x1, y1).getSide() != getTurn())
+			return false;
+		ChessPiece a = getPiece(x1, y1);
+		boolean promoting = a.getType() == PieceType.PAWN && y2 == (a.getSide() == Side.WHITE ? 0 : 7);
+		// a promotion is legal for every piece if it is for one, so the queen promotion only checks
+		// legality, the piece is chosen afterwards with promote
+		int promotion = promoting ? Position.QUEEN : Position.NO_PIECE;
+		if (a.canMove(x2, y2) || a.canCapture(x2, y2)) {
+			int move = findLegalMove(toIndex(x1, y1), toIndex(x2, y2), promotion);
+			if (move == Moves.NONE)
+				return false;
+			moveOnBoard(move);
+			if (debug) System.out.println(Moves.isCapture(move) ? "Successful capture." : "Successful move.");
+			return true;
+		}
+		if (debug) System.out.println("Unsuccessful move/capture.");
+		if (debug) valueTotals(); //TODO: relocate
+		return false;
+	}
+
+	/**
+	 * Plays a packed move code of the position, e.g. one found by the engine, exactly as given:
+	 * promotions are played to the piece the code promotes to
+	 * @param move packed move code
+	 * @return true if the move was played, false if it is not legal or a pawn is waiting for its
+	 *         promotion piece
+	 */
+	public boolean playMove(int move) {
+		if (isPromoting() || move == Moves.NONE || !MoveGenerator.isLegal(position, move, legalMoves))
+			return false;
+		moveOnBoard(move);
+		if (Moves.isPromotion(move))
+			promote(PieceType.of(Moves.promotionType(move)));
+		return true;
+	}
+
+	/**
+	 * Moves the pieces of a legal move on the board, taking a captured piece off it (a king moves its
+	 * rook along when castling), and plays the move in the position and history. A pawn reaching the
+	 * last rank promotes instead, and its move is played once promote is given the piece
+	 * @param move packed move code
+	 */
+	private void moveOnBoard(int move) {
+		int from = Moves.from(move);
+		int to = Moves.to(move);
+		ChessPiece a = board[from];
+		ChessPiece captured = null;
+		if (Moves.isCapture(move)) {
+			// en-passant captures the pawn beside the start square, on the target square's file
+			int capturedSquare = Moves.isEnPassant(move) ? toIndex(toX(to), toY(from)) : to;
+			captured = board[capturedSquare];
+			takePieceOffBoard(captured);
+			captured.removePiece();
+		}
+		Move m = new Move(this, a, move, captured);
+		a.move((toX(to) - toX(from)) * SQUARE_DIMENSION, (toY(to) - toY(from)) * SQUARE_DIMENSION);
+		switchOccupation(toX(from), toY(from), toX(to), toY(to));
+		if (Moves.isPromotion(move)) {
+			promotionMove = m;
+			((Pawn) a).promote();
+			return;
+		}
+		addMoveToStack(m);
+		makeMove(move);
+	}
+
+	/**
+	 * Moves the piece of square (x1, y1) to square (x2, y2) in the piece table. This is used in chess
+	 * piece movement functionality, the position itself is only changed through makeMove and unmakeMove
+	 * @param x1 x coordinate of square piece is moving from
+	 * @param y1 y coordinate of square piece is moving from
+	 * @param x2 x coordinate of square piece is moving to
+	 * @param y2 y coordinate of square piece is moving to
+	 */
+	public void switchOccupation(int x1, int y1, int x2, int y2) {
+		int from = toIndex(x1, y1);
+		int to = toIndex(x2, y2);
+		board[to] = board[from];
+		board[from] = NoPiece.EMPTY;
+	}
+
+	/**
+	 * Returns the legal move of the side to move from one position square to another, promoting to a
+	 * given piece type
+	 * @param from position square of piece to move
+	 * @param to position square to move piece to
+	 * @param promotion position piece type index of the promotion piece, Position.NO_PIECE for a move
+	 *        that is no promotion
+	 * @return packed move code, or Moves.NONE if no legal move joins the squares
+	 */
+	private int findLegalMove(int from, int to, int promotion) {
+		int count = MoveGenerator.generateLegal(position, legalMoves);
+		for (int i = 0; i < count; i++) {
+			int move = legalMoves[i];
+			if (Moves.from(move) == from && Moves.to(move) == to
+					&& (Moves.isPromotion(move) ? Moves.promotionType(move) : Position.NO_PIECE) == promotion)
+				return move;
+		}
+		return Moves.NONE;
+	}
+
+	/**
+	 * Plays a move in the position and updates the attack map for every square it changed
+	 * @param move packed move code
+	 */
+	public void makeMove(int move) {
+		long before = position.getOccupied();
+		position.makeMove(move);
+		updateAttacks(before ^ position.getOccupied() | Bitboards.bit(Moves.from(move)) | Bitboards.bit(Moves.to(move)));
+		status = GameStatus.evaluate(position, legalMoves);
+	}
+
+	/**
+	 * Takes back the last move played in the position and updates the attack map for every square
+	 * it changed
+	 * @param move packed move code of the last move
+	 */
+	public void unmakeMove(int move) {
+		long before = position.getOccupied();
+		position.unmakeMove();
+		updateAttacks(before ^ position.getOccupied() | Bitboards.bit(Moves.from(move)) | Bitboards.bit(Moves.to(move)));
+		status = GameStatus.evaluate(position, legalMoves);
+	}
+
+	/**
+	 * Updates the attack map for each changed square of a bitboard
+	 * @param changed bitboard of squares whose contents changed
+	 */
+	private void updateAttacks(long changed) {
+		while (changed != 0) {
+			attackMap.squareChanged(position, Bitboards.lowestSquare(changed));
+			changed &= changed - 1;
+		}
+	}
+
+	/**
+	 * Adds a piece to the position and piece table on the square it currently stands on
+	 * @param piece piece to add
+	 */
+	private void placeOnPosition(ChessPiece piece) {
+		int square = toIndex(piece.getXSquare(), piece.getYSquare());
+		position.putPiece(piece.getSide().index(), piece.getType().getIndex(), square);
+		board[square] = piece;
+		attackMap.squareChanged(position, square);
+	}
+
+	/**
+	 * Removes whichever piece stands on a square from the piece table
+	 * @param square position square to clear
+	 */
+	private void clearSquare(int square) {
+		board[square] = NoPiece.EMPTY;
+	}
+
+	public void addMoveToStack(Move m) {
+		movesBefore.push(m);
+		movesAfter.clear();
+	}
+
+	/**
+	 * Replays the next undone move, if any. Does nothing while a pawn is waiting for its promotion piece
+	 */
+	public void nextMove() {
+		if (isPromoting() || movesAfter.isEmpty())
+			return;
+		Move m = movesAfter.pop();
+		m.redo();
+		movesBefore.push(m);
+	}
+
+	/**
+	 * Takes back the last move, if any. Does nothing while a pawn is waiting for its promotion piece
+	 */
+	public void lastMove() {
+		if (isPromoting() || movesBefore.isEmpty())
+			return;
+		Move m = movesBefore.pop();
+		m.undo();
+		movesAfter.push(m);
+	}
+
+	/**
+	 * Returns the side to move, which the position keeps
+	 * @return turn side
+	 */
+	public Side getTurn() {
+		return Side.of(position.getSideToMove());
+	}
+
+	public Side getOppositeTurn() {
+		return getTurn().opposite();
+	}
+
+	/**
+	 * Returns true if king can move or capture on specified square, false otherwise
+	 * @param x2 x index of square array
+	 * @param y2 y index of square array
+	 * @param kingSide side of king
+	 * @return true or false
+	 */
+	public boolean kingCanMove(int x2, int y2, Side kingSide) {
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0) return false;
+		return !attackMap.isAttacked(position, toIndex(x2, y2), kingSide.opposite().index());
+	}
+
+	/**
+	 * Returns the King chess piece of specified color, found from the king square the position keeps
+	 * @param kingSide side of king to find
+	 * @return king of passed side
+	 */
+	public ChessPiece findKing(Side kingSide) {
+		int square = position.getKingSquare(kingSide.index());
+		if (square == Position.NO_SQUARE)
+			throw new IllegalArgumentException("Error: cannot find " + kingSide.getName() + " king.");
+		return board[square];
+	}
+
+	/**
+	 * Returns true if the king of specified color is attacked
+	 * @param kingSide side of king
+	 * @return true if in check, false otherwise
+	 */
+	public boolean kingInCheck(Side kingSide) {
+		int color = kingSide.index();
+		return position.attackersTo(position.getKingSquare(color), 1 - color) != 0;
+	}
+
+	public void putPieceOnBoard(ChessPiece piece) {
+		piecesOff.remove(piece);
+		piecesOn.add(piece);
+		board[toIndex(piece.getXSquare(), piece.getYSquare())] = piece;
+	}
+
+	/**
+	 * Moves a piece from the list of pieces on board to the list of pieces off board, and clears
+	 * its square in the piece table. Must be called before the piece's coordinates are moved off board
+	 * @param piece piece to take off board
+	 */
+	public void takePieceOffBoard(ChessPiece piece) {
+		clearSquare(toIndex(piece.getXSquare(), piece.getYSquare()));
+		piecesOn.remove(piece);
+		piecesOff.add(piece);
+	}
+
+	/**
+	 * Takes a pawn that reached the last rank off the board, leaving its square to the piece chosen
+	 * with promote
+	 * @param p promoting pawn
+	 */
+	public void promotePawn(Pawn p) {
+		promotionSquare = Square.of(p.getXSquare(), p.getYSquare());
+		promotionSide = p.getSide();
+		takePieceOffBoard(p);
+		p.removePiece();
+	}
+
+	/**
+	 * Puts a new piece of a type on the square of the promoting pawn, in the piece lists and piece table,
+	 * and plays the promotion to it in the position and history
+	 * @param type knight, bishop, rook or queen
+	 */
+	public void promote(PieceType type) {
+		if (!isPromoting())
+			throw new IllegalArgumentException("Error: no pawn is promoting");
+		if (type == PieceType.PAWN || type == PieceType.KING || type == PieceType.NONE)
+			throw new IllegalArgumentException("Error: a pawn cannot promote to " + type);
+		ChessPiece piece = newPiece(type, promotionSquare.getXSquare(), promotionSquare.getYSquare(), promotionSide);
+		promotionSquare = Square.NONE;
+		putPieceOnBoard(piece);
+		int move = promotionMove.getMove();
+		move = Moves.promotion(Moves.from(move), Moves.to(move), type.getIndex(), Moves.isCapture(move));
+		promotionMove.setPromotion(piece, move);
+		addMoveToStack(promotionMove);
+		promotionMove = null;
+		makeMove(move);
+	}
+
+	/**
+	 * Returns true if a pawn is waiting for the piece it promotes to
+	 * @return true if promoting, false otherwise
+	 */
+	public boolean isPromoting() {
+		return promotionSquare != Square.NONE;
+	}
+
+	public Square getPromotionSquare() {
+		return promotionSquare;
+	}
+
+	public Side getPromotionSide() {
+		return promotionSide;
+	}
+
+	/**
+	 * [Debugging method] Prints each side's total piece values
+	 */
+	public void valueTotals() {
+		int totalW = 0;
+		int totalB = 0;
+		for (int i = 0; i < piecesOn.size(); i++) {
+			if (piecesOn.get(i).getSide() == Side.WHITE)
+				totalW += piecesOn.get(i).getValue();
+			if (piecesOn.get(i).getSide() == Side.BLACK)
+				totalB += piecesOn.get(i).getValue();
+		}
+		System.out.println("White piece total: " + totalW + "." + '\n' + "Black piece total: " + totalB + ".");
+	}
+
+	/**
+	 * Returns the bitboard position of the pieces on board
+	 * @return position
+	 */
+	public Position getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns the attack map of the pieces on board
+	 * @return attack map
+	 */
+	public AttackMap getAttackMap() {
+		return attackMap;
+	}
+
+	/**
+	 * Returns the status of the game after the last move: checkmate, a draw or still in progress
+	 * @return game status
+	 */
+	public GameStatus getGameStatus() {
+		return status;
+	}
+
+	public List<ChessPiece> getPiecesOn() {
+		return piecesOn;
+	}
+
+	public List<ChessPiece> getPiecesOff() {
+		return piecesOff;
+	}
+
+	public void setDebug(boolean debug) {
+		this.debug = debug;
+	}
+
+	/**
+	 * Returns the dimension of a single board square in pixels
+	 * @return squareDimension
+	 */
+	public static int getSquareDimension() {
+		return SQUARE_DIMENSION;
+	}
+
+	/**
+	 * Converts chess board square x, y (0-7) to the bitboard square index used by the position, where
+	 * a1 = 0 and h8 = 63. Board squares are laid out from white's side, x = 0 being the a-file and
+	 * y = 0 the eighth rank, whichever way the board is drawn
+	 * @param x x component of chess board square
+	 * @param y y component of chess board square
+	 * @return square index (0-63)
+	 */
+	public static int toIndex(int x, int y) {
+		return Bitboards.square(x, 7 - y);
+	}
+
+	/**
+	 * Returns the chess board square x component (0-7) of a position square index
+	 * @param index square index (0-63)
+	 * @return x component of chess board square
+	 */
+	public static int toX(int index) {
+		return Bitboards.file(index);
+	}
+
+	/**
+	 * Returns the chess board square y component (0-7) of a position square index
+	 * @param index square index (0-63)
+	 * @return y component of chess board square
+	 */
+	public static int toY(int index) {
+		return 7 - Bitboards.rank(index);
+	}
+
+	/**
+	 * Converts a bitboard of position squares to a list of chess board squares
+	 * @param bitboard squares to convert
+	 * @return list of squares
+	 */
+	public static List<Square> toSquares(long bitboard) {
+		List<Square> list = new ArrayList<Square>(Bitboards.count(bitboard));
+		while (bitboard != 0) {
+			int index = Bitboards.lowestSquare(bitboard);
+			list.add(Square.of(toX(index), toY(index)));
+			bitboard &= bitboard - 1;
+		}
+		return list;
+	}
+}
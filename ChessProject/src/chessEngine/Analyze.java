@@ -0,0 +1,103 @@
+package chessEngine;
+
+import java.util.Arrays;
+
+import chessModel.MoveGenerator;
+import chessModel.Moves;
+import chessModel.Position;
+
+/**
+ * Headless analysis tool: searches a position and prints every completed iteration, followed by the
+ * best move.
+ *
+ * Usage:
+ *   Analyze [options] depth n [fen]       searches n plies deep
+ *   Analyze [options] nodes n [fen]       searches until n nodes were visited
+ *   Analyze [options] movetime ms [fen]   searches for ms milliseconds
+ * Options:
+ *   hash mb    the transposition table takes mb megabytes, 16 when not given
+ *   threads n  searches with n threads, 1 when not given
+ *   offheap    holds the transposition table off the heap
+ *   prefault   holds the transposition table off the heap and maps all of its pages before searching
+ * Off heap tables need a JVM started with -XX:MaxDirectMemorySize of at least the table size
+ * The start position is used when no FEN is given
+ */
+public final class Analyze {
+
+	private Analyze() {
+	}
+
+	/**
+	 * Searches a position with the limit given by the arguments
+	 * @param args options, then "depth", "nodes" or "movetime" followed by the limit and an optional FEN
+	 */
+	public static void main(String[] args) {
+		int megabytes = TranspositionTable.DEFAULT_MEGABYTES;
+		boolean offHeap = false;
+		boolean prefault = false;
+		int threads = 1;
+		int first = 0;
+		for (boolean option = true; option && first < args.length; ) {
+			switch (args[first]) {
+			case "hash": megabytes = Integer.parseInt(args[first + 1]);
+				first += 2;
+				break;
+			case "threads": threads = Integer.parseInt(args[first + 1]);
+				first += 2;
+				break;
+			case "prefault": prefault = true;
+				offHeap = true;
+				first++;
+				break;
+			case "offheap": offHeap = true;
+				first++;
+				break;
+			default: option = false;
+			}
+		}
+		args = Arrays.copyOfRange(args, first, args.length);
+		if (args.length < 2)
+			usage();
+		SearchLimits limits = new SearchLimits();
+		switch (args[0]) {
+		case "depth": limits.setDepth(Integer.parseInt(args[1]));
+			break;
+		case "nodes": limits.setNodes(Long.parseLong(args[1]));
+			break;
+		case "movetime": limits.setMoveTime(Long.parseLong(args[1]));
+			break;
+		default:
+			usage();
+		}
+		Position position = new Position();
+		position.setFen(args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length)) : Position.START_FEN);
+
+		// builds the attack tables, so their set up time is not counted as search time
+		MoveGenerator.generateLegal(position, new int[MoveGenerator.MAX_MOVES]);
+		TranspositionTable table = offHeap ? new OffHeapTranspositionTable(megabytes, prefault)
+				: new HeapTranspositionTable(megabytes);
+		SearchResult result;
+		// an off heap table is freed at once even if the search fails
+		try {
+			ParallelSearch search = new ParallelSearch(table, threads);
+			search.setListener(new SearchListener() {
+				@Override
+				public void iterationComplete(SearchResult result) {
+					System.out.println("info " + result);
+				}
+			});
+			result = search.search(position, limits);
+		} finally {
+			table.release();
+		}
+		System.out.println("bestmove " + (result.getBestMove() == Moves.NONE ? "(none)" : Moves.toString(result.getBestMove())));
+	}
+
+	/**
+	 * Prints how to call the tool and exits
+	 */
+	private static void usage() {
+		System.out.println("Usage: Analyze [hash mb] [threads n] [offheap|prefault] depth|nodes|movetime limit [fen]");
+		System.exit(2);
+	}
+}
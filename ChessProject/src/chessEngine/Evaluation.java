@@ -0,0 +1,104 @@
+package chessEngine;
+
+import chessModel.Bitboards;
+import chessModel.Position;
+
+/**
+ * Static evaluation of a position in centipawns: the material of each side and a piece-square bonus
+ * for every piece, from the point of view of the side to move. Tables are written from white's side
+ * with the eighth rank first, as the board is seen, and are mirrored for black
+ */
+public final class Evaluation {
+
+	/** Values of each piece type in centipawns, indexed by position piece type index */
+	public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+	/** Piece-square bonuses of each piece type, indexed by position piece type index */
+	private static final int[][] PIECE_SQUARES = {
+		{ // pawn
+			  0,  0,  0,  0,  0,  0,  0,  0,
+			 50, 50, 50, 50, 50, 50, 50, 50,
+			 10, 10, 20, 30, 30, 20, 10, 10,
+			  5,  5, 10, 25, 25, 10,  5,  5,
+			  0,  0,  0, 20, 20,  0,  0,  0,
+			  5, -5,-10,  0,  0,-10, -5,  5,
+			  5, 10, 10,-20,-20, 10, 10,  5,
+			  0,  0,  0,  0,  0,  0,  0,  0},
+		{ // knight
+			-50,-40,-30,-30,-30,-30,-40,-50,
+			-40,-20,  0,  0,  0,  0,-20,-40,
+			-30,  0, 10, 15, 15, 10,  0,-30,
+			-30,  5, 15, 20, 20, 15,  5,-30,
+			-30,  0, 15, 20, 20, 15,  0,-30,
+			-30,  5, 10, 15, 15, 10,  5,-30,
+			-40,-20,  0,  5,  5,  0,-20,-40,
+			-50,-40,-30,-30,-30,-30,-40,-50},
+		{ // bishop
+			-20,-10,-10,-10,-10,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5, 10, 10,  5,  0,-10,
+			-10,  5,  5, 10, 10,  5,  5,-10,
+			-10,  0, 10, 10, 10, 10,  0,-10,
+			-10, 10, 10, 10, 10, 10, 10,-10,
+			-10,  5,  0,  0,  0,  0,  5,-10,
+			-20,-10,-10,-10,-10,-10,-10,-20},
+		{ // rook
+			  0,  0,  0,  0,  0,  0,  0,  0,
+			  5, 10, 10, 10, 10, 10, 10,  5,
+			 -5,  0,  0,  0,  0,  0,  0, -5,
+			 -5,  0,  0,  0,  0,  0,  0, -5,
+			 -5,  0,  0,  0,  0,  0,  0, -5,
+			 -5,  0,  0,  0,  0,  0,  0, -5,
+			 -5,  0,  0,  0,  0,  0,  0, -5,
+			  0,  0,  0,  5,  5,  0,  0,  0},
+		{ // queen
+			-20,-10,-10, -5, -5,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5,  5,  5,  5,  0,-10,
+			 -5,  0,  5,  5,  5,  5,  0, -5,
+			  0,  0,  5,  5,  5,  5,  0, -5,
+			-10,  5,  5,  5,  5,  5,  0,-10,
+			-10,  0,  5,  0,  0,  0,  0,-10,
+			-20,-10,-10, -5, -5,-10,-10,-20},
+		{ // king, sheltered behind its pawns
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-20,-30,-30,-40,-40,-30,-30,-20,
+			-10,-20,-20,-20,-20,-20,-20,-10,
+			 20, 20,  0,  0,  0,  0, 20, 20,
+			 20, 30, 10,  0,  0, 10, 30, 20}
+	};
+
+	private Evaluation() {
+	}
+
+	/**
+	 * Returns the score of a position for the side to move
+	 * @param position position to evaluate
+	 * @return score in centipawns, positive if the side to move stands better
+	 */
+	public static int evaluate(Position position) {
+		int score = 0;
+		for (int type = Position.PAWN; type <= Position.KING; type++) {
+			score += sideScore(position.getPieces(Position.WHITE, type), type, 56);
+			score -= sideScore(position.getPieces(Position.BLACK, type), type, 0);
+		}
+		return position.getSideToMove() == Position.WHITE ? score : -score;
+	}
+
+	/**
+	 * Returns the material and piece-square bonuses of one side's pieces of a type. The table index of
+	 * a square is the square XOR flip: 56 turns white's squares upside down to match the tables, and
+	 * black's squares are already upside down as seen from black
+	 */
+	private static int sideScore(long pieces, int type, int flip) {
+		int score = 0;
+		while (pieces != 0) {
+			score += PIECE_VALUES[type] + PIECE_SQUARES[type][Bitboards.lowestSquare(pieces) ^ flip];
+			pieces &= pieces - 1;
+		}
+		return score;
+	}
+}
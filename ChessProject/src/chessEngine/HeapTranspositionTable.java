@@ -0,0 +1,40 @@
+package chessEngine;
+
+import java.util.Arrays;
+
+/**
+ * Transposition table held in a long array on the heap. The array is limited to 2^30 words, so the
+ * table uses at most 8192 megabytes
+ */
+public class HeapTranspositionTable extends TranspositionTable {
+
+	/** Largest size of the table in megabytes */
+	public static final int MAX_MEGABYTES = 8192;
+
+	/** Words of the table */
+	private final long[] words;
+
+	/**
+	 * Constructor for a table of a given size
+	 * @param megabytes size in megabytes, from 1 to MAX_MEGABYTES
+	 */
+	public HeapTranspositionTable(int megabytes) {
+		super(checkedBuckets(megabytes, MAX_MEGABYTES));
+		words = new long[(int) (size() * 2)];
+	}
+
+	@Override
+	protected long getWord(long index) {
+		return words[(int) index];
+	}
+
+	@Override
+	protected void setWord(long index, long word) {
+		words[(int) index] = word;
+	}
+
+	@Override
+	protected void clearWords() {
+		Arrays.fill(words, 0);
+	}
+}
@@ -0,0 +1,223 @@
+package chessEngine;
+
+import chessModel.MoveGenerator;
+import chessModel.Moves;
+import chessModel.Position;
+
+/**
+ * Staged move picker: hands out the legal moves of a position one at a time, likely best first, and
+ * generates each group of moves only when the moves before it are used up:
+ *   1. the transposition table move, checked without generating moves
+ *   2. winning captures and queen promotions, most valuable victim first, least valuable attacker next
+ *   3. the killer moves of the ply, quiet moves that caused a cutoff in another position at the ply
+ *   4. the other quiet moves, highest history score first
+ *   5. losing captures and under-promotions
+ * A cutoff on an early move so never pays for generating the later groups. For the quiescence search
+ * the picker hands out the winning captures and queen promotions only. A picker is reused for every
+ * position searched at its ply
+ */
+public final class MovePicker {
+
+	/** Stages of the picker, in order */
+	private static final int HASH_MOVE = 0;
+	private static final int GENERATE_CAPTURES = 1;
+	private static final int GOOD_CAPTURES = 2;
+	private static final int KILLERS = 3;
+	private static final int GENERATE_QUIETS = 4;
+	private static final int QUIETS = 5;
+	private static final int BAD_CAPTURES = 6;
+	private static final int DONE = 7;
+
+	/**
+	 * Captures of a piece worth up to this many centipawns less than the capturing piece count as even
+	 * trades, e.g. bishop takes knight
+	 */
+	private static final int TRADE_MARGIN = 50;
+
+	/** History scores of quiet moves, indexed by side to move, from square and to square */
+	private final int[][][] history;
+	/** Captures and promotions, with their scores */
+	private final int[] captures = new int[MoveGenerator.MAX_MOVES];
+	private final int[] captureScores = new int[MoveGenerator.MAX_MOVES];
+	/** Losing captures, deferred until after the quiet moves */
+	private final int[] badCaptures = new int[MoveGenerator.MAX_MOVES];
+	/** Quiet moves, with their scores */
+	private final int[] quiets = new int[MoveGenerator.MAX_MOVES];
+	private final int[] quietScores = new int[MoveGenerator.MAX_MOVES];
+
+	/** Position the moves are picked for */
+	private Position position;
+	/** Transposition table move, Moves.NONE if none */
+	private int hashMove;
+	/** Killer moves of the ply, Moves.NONE if none */
+	private int killer1;
+	private int killer2;
+	/** True to stop after the winning captures */
+	private boolean capturesOnly;
+	/** Current stage */
+	private int stage;
+	/** Number of moves in captures, badCaptures and quiets */
+	private int captureCount;
+	private int badCount;
+	private int quietCount;
+	/** Next index in the buffer of the current stage */
+	private int index;
+
+	/**
+	 * Constructor with the history table the quiet moves are ordered by
+	 * @param history history scores indexed by side to move, from square and to square
+	 */
+	public MovePicker(int[][][] history) {
+		this.history = history;
+	}
+
+	/**
+	 * Starts picking the moves of a position
+	 * @param position position, not changed while the picker is used except by moves it returned that
+	 *        are unmade again
+	 * @param hashMove transposition table move, or Moves.NONE
+	 * @param killer1 first killer move of the ply, or Moves.NONE
+	 * @param killer2 second killer move of the ply, or Moves.NONE
+	 */
+	public void init(Position position, int hashMove, int killer1, int killer2) {
+		this.position = position;
+		this.hashMove = hashMove;
+		this.killer1 = killer1;
+		this.killer2 = killer2;
+		capturesOnly = false;
+		stage = HASH_MOVE;
+	}
+
+	/**
+	 * Starts picking the winning captures and queen promotions of a position, for the quiescence search
+	 * @param position position, not changed while the picker is used except by moves it returned that
+	 *        are unmade again
+	 */
+	public void initCaptures(Position position) {
+		this.position = position;
+		hashMove = Moves.NONE;
+		killer1 = Moves.NONE;
+		killer2 = Moves.NONE;
+		capturesOnly = true;
+		stage = GENERATE_CAPTURES;
+	}
+
+	/**
+	 * Returns the next legal move, never one returned before. Each stage falls through to the next one
+	 * once its moves are used up
+	 * @return packed move code, Moves.NONE once all moves were returned
+	 */
+	@SuppressWarnings("fallthrough")
+	public int next() {
+		switch (stage) {
+		case HASH_MOVE:
+			stage = GENERATE_CAPTURES;
+			if (hashMove != Moves.NONE && MoveGenerator.isLegal(position, hashMove, quiets))
+				return hashMove;
+			// fall through
+		case GENERATE_CAPTURES:
+			captureCount = MoveGenerator.generateLegal(position, captures, MoveGenerator.CAPTURES);
+			for (int i = 0; i < captureCount; i++) {
+				captureScores[i] = captureScore(captures[i]);
+			}
+			badCount = 0;
+			index = 0;
+			stage = GOOD_CAPTURES;
+			// fall through
+		case GOOD_CAPTURES:
+			while (index < captureCount) {
+				int move = selectBest(captures, captureScores, index++, captureCount);
+				if (move == hashMove)
+					continue;
+				if (isWinning(move))
+					return move;
+				badCaptures[badCount++] = move;
+			}
+			if (capturesOnly) {
+				stage = DONE;
+				return Moves.NONE;
+			}
+			index = 0;
+			stage = KILLERS;
+			// fall through
+		case KILLERS:
+			while (index < 2) {
+				int move = index++ == 0 ? killer1 : killer2;
+				if (move != Moves.NONE && move != hashMove && MoveGenerator.isLegal(position, move, quiets))
+					return move;
+			}
+			stage = GENERATE_QUIETS;
+			// fall through
+		case GENERATE_QUIETS:
+			quietCount = MoveGenerator.generateLegal(position, quiets, MoveGenerator.QUIET_MOVES);
+			int[][] sideHistory = history[position.getSideToMove()];
+			for (int i = 0; i < quietCount; i++) {
+				quietScores[i] = sideHistory[Moves.from(quiets[i])][Moves.to(quiets[i])];
+			}
+			index = 0;
+			stage = QUIETS;
+			// fall through
+		case QUIETS:
+			while (index < quietCount) {
+				int move = selectBest(quiets, quietScores, index++, quietCount);
+				if (move != hashMove && move != killer1 && move != killer2)
+					return move;
+			}
+			index = 0;
+			stage = BAD_CAPTURES;
+			// fall through
+		case BAD_CAPTURES:
+			if (index < badCount)
+				return badCaptures[index++];
+			stage = DONE;
+			// fall through
+		default:
+			return Moves.NONE;
+		}
+	}
+
+	/**
+	 * Returns the most valuable victim, least valuable attacker score of a capture or promotion: the value
+	 * of the captured piece and of the promotion, times 8, less the attacker's type index
+	 */
+	private int captureScore(int move) {
+		int victim = Moves.isEnPassant(move) ? Position.PAWN : Position.typeOf(position.pieceAt(Moves.to(move)));
+		int value = victim == Position.NO_PIECE ? 0 : Evaluation.PIECE_VALUES[victim];
+		if (Moves.isPromotion(move))
+			value += Evaluation.PIECE_VALUES[Moves.promotionType(move)];
+		return value * 8 - Position.typeOf(position.pieceAt(Moves.from(move)));
+	}
+
+	/**
+	 * Returns true if a capture or promotion is not expected to lose material: queen promotions, en
+	 * passant, and captures of pieces worth about as much as the capturer or more, or on undefended squares
+	 */
+	private boolean isWinning(int move) {
+		if (Moves.isPromotion(move))
+			return Moves.promotionType(move) == Position.QUEEN;
+		if (Moves.isEnPassant(move))
+			return true;
+		int to = Moves.to(move);
+		int attacker = Evaluation.PIECE_VALUES[Position.typeOf(position.pieceAt(Moves.from(move)))];
+		int victim = Evaluation.PIECE_VALUES[Position.typeOf(position.pieceAt(to))];
+		return attacker - victim <= TRADE_MARGIN || !position.isAttacked(to, 1 - position.getSideToMove());
+	}
+
+	/**
+	 * Moves the highest scored move from index on to index, and returns it
+	 */
+	private static int selectBest(int[] moves, int[] scores, int index, int count) {
+		int best = index;
+		for (int i = index + 1; i < count; i++) {
+			if (scores[i] > scores[best])
+				best = i;
+		}
+		int move = moves[best];
+		int score = scores[best];
+		moves[best] = moves[index];
+		scores[best] = scores[index];
+		moves[index] = move;
+		scores[index] = score;
+		return move;
+	}
+}
@@ -0,0 +1,131 @@
+package chessEngine;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Transposition table held off the heap in direct buffers, for tables of many gigabytes: the garbage
+ * collector never scans or copies the words, so the heap stays small whatever the table size. A buffer
+ * holds at most 2 gigabytes, so the table is split in chunks of 64 megabytes.
+ *
+ * All chunks are allocated when the table is created, so a table too big for the direct memory limit
+ * fails there and never in the middle of a search. A direct buffer is always zeroed, and so committed,
+ * when it is allocated. A prefaulted table reads every page of its chunks once more before it is used,
+ * so they are resident before the first search. release frees the chunks at once instead of when the
+ * garbage collector finds them.
+ *
+ * The JVM bounds direct buffer memory with -XX:MaxDirectMemorySize, by default the maximum heap size,
+ * so it must be raised to hold a table bigger than the heap
+ */
+public class OffHeapTranspositionTable extends TranspositionTable {
+
+	/** Largest size of the table in megabytes */
+	public static final int MAX_MEGABYTES = 1 << 20;
+
+	/** Number of words of a chunk is 2^CHUNK_SHIFT */
+	private static final int CHUNK_SHIFT = 23;
+	/** Index mask of a word in its chunk */
+	private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+	/** Number of bytes of a memory page touched by prefaulting */
+	private static final int PAGE_BYTES = 4096;
+
+	/** Number of words of each chunk, less than a full chunk for small tables */
+	private final int chunkWords;
+	/** Chunks of the table, null once released */
+	private final ByteBuffer[] chunks;
+	/** True once a failure to free a buffer was reported, so it is reported only once */
+	private static volatile boolean freeFailureReported;
+
+	/**
+	 * Constructor for a table of a given size
+	 * @param megabytes size in megabytes, from 1 to MAX_MEGABYTES
+	 * @param prefault true to read every page of the table once before it is used
+	 * @throws IllegalArgumentException if the direct memory limit leaves no room for the table
+	 */
+	public OffHeapTranspositionTable(int megabytes, boolean prefault) {
+		super(checkedBuckets(megabytes, MAX_MEGABYTES));
+		long words = size() * 2;
+		chunkWords = (int) Math.min(1L << CHUNK_SHIFT, words);
+		chunks = new ByteBuffer[(int) (words / chunkWords)];
+		try {
+			for (int i = 0; i < chunks.length; i++) {
+				chunks[i] = ByteBuffer.allocateDirect(chunkWords * 8).order(ByteOrder.nativeOrder());
+			}
+		} catch (OutOfMemoryError e) {
+			// the table is never returned, so its chunks are freed before giving up
+			release();
+			throw new IllegalArgumentException("Error: cannot allocate " + megabytes
+					+ " megabytes of direct memory, see -XX:MaxDirectMemorySize", e);
+		}
+		if (prefault)
+			touchPages();
+	}
+
+	@Override
+	protected long getWord(long index) {
+		return chunks[(int) (index >>> CHUNK_SHIFT)].getLong((int) (index & CHUNK_MASK) << 3);
+	}
+
+	@Override
+	protected void setWord(long index, long word) {
+		chunks[(int) (index >>> CHUNK_SHIFT)].putLong((int) (index & CHUNK_MASK) << 3, word);
+	}
+
+	@Override
+	protected void clearWords() {
+		for (int i = 0; i < chunks.length; i++) {
+			ByteBuffer chunk = chunks[i];
+			for (int j = 0; j < chunkWords; j++) {
+				chunk.putLong(j << 3, 0);
+			}
+		}
+	}
+
+	/**
+	 * Reads one word of every page of the chunks, so the operating system maps them all now
+	 */
+	private void touchPages() {
+		long sum = 0;
+		for (int i = 0; i < chunks.length; i++) {
+			ByteBuffer chunk = chunks[i];
+			for (int j = 0; j < chunkWords * 8; j += PAGE_BYTES) {
+				sum += chunk.getLong(j);
+			}
+		}
+		// a fresh table is all zeros, the check only keeps the reads from being optimized away
+		if (sum != 0)
+			throw new IllegalStateException("Error: new transposition table is not empty");
+	}
+
+	/**
+	 * Frees all chunks. No search may use the table while or after it is released
+	 */
+	@Override
+	public void release() {
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i] != null)
+				free(chunks[i]);
+			chunks[i] = null;
+		}
+	}
+
+	/**
+	 * Frees a direct buffer at once through sun.misc.Unsafe where the JDK has it, or else leaves it to
+	 * the garbage collector and reports on standard error, the first time, that memory is freed late
+	 */
+	private static void free(ByteBuffer buffer) {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(field.get(null), buffer);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			if (!freeFailureReported) {
+				freeFailureReported = true;
+				System.err.println("Warning: cannot free transposition table memory at once, it is freed when "
+						+ "the garbage collector finds it: " + e);
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package chessEngine;
+
+import java.util.Arrays;
+
+import chessModel.Position;
+
+/**
+ * Lazy SMP parallel search: several threads search the same root position at once, sharing one
+ * transposition table and nothing else. Each thread is a Search with its own copy of the position and
+ * its own buffers. The main thread runs in the caller and decides when the search ends, while the
+ * helper threads skip some depths so they work ahead of it and fill the table with results it reuses.
+ * The result of the deepest completed iteration of any thread is returned.
+ *
+ * Node limits count the nodes of the main thread only, and only the main thread reports iterations to
+ * the listener
+ */
+public class ParallelSearch {
+
+	/** Largest number of threads */
+	public static final int MAX_THREADS = 256;
+
+	/** Transposition table shared by all threads */
+	private final TranspositionTable table;
+	/** Search of each thread, the main thread first */
+	private Search[] searches = new Search[0];
+	/** Receives the iterations of the main thread, null if none */
+	private SearchListener listener;
+
+	/**
+	 * Constructor with a transposition table and a number of threads
+	 * @param table transposition table shared by the threads
+	 * @param threads number of threads, from 1 to MAX_THREADS
+	 */
+	public ParallelSearch(TranspositionTable table, int threads) {
+		this.table = table;
+		setThreads(threads);
+	}
+
+	/**
+	 * Searches a position for the best move of the side to move within limits, with all threads. The
+	 * position is not changed
+	 * @param root position to search
+	 * @param limits depth, node and time limits
+	 * @return result of the deepest iteration completed by any thread, with no moves if the side to move
+	 *         has no legal move
+	 */
+	public SearchResult search(final Position root, final SearchLimits limits) {
+		long start = System.nanoTime();
+		final Search[] threads = searches;
+		final SearchResult[] results = new SearchResult[threads.length];
+		table.newSearch();
+		for (Search search : threads) {
+			search.clearStop();
+		}
+		Thread[] helpers = new Thread[threads.length - 1];
+		try {
+			for (int i = 1; i < threads.length; i++) {
+				final int index = i;
+				helpers[i - 1] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						results[index] = threads[index].iterate(root, limits);
+					}
+				}, "Search helper " + i);
+				helpers[i - 1].start();
+			}
+			results[0] = threads[0].iterate(root, limits);
+		} finally {
+			// the main thread is done, or failed, so the helpers stop as well and no longer use the table
+			for (int i = 1; i < threads.length; i++) {
+				threads[i].stop();
+			}
+			boolean interrupted = false;
+			for (Thread helper : helpers) {
+				while (helper != null && helper.isAlive()) {
+					try {
+						helper.join();
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+
+		SearchResult best = results[0];
+		long nodes = 0;
+		for (int i = 0; i < threads.length; i++) {
+			nodes += threads[i].getNodes();
+			if (results[i] != null && results[i].getDepth() > best.getDepth())
+				best = results[i];
+		}
+		return new SearchResult(best.getPv(), best.getScore(), best.getDepth(), nodes,
+				(System.nanoTime() - start) / 1000000, table.hashfull());
+	}
+
+	/**
+	 * Stops a running search from another thread. The search returns the result of its deepest completed
+	 * iteration
+	 */
+	public void stop() {
+		for (Search search : searches) {
+			search.stop();
+		}
+	}
+
+	/**
+	 * Sets the number of threads of the next searches. Must not be called while searching
+	 * @param threads number of threads, from 1 to MAX_THREADS
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1 || threads > MAX_THREADS)
+			throw new IllegalArgumentException("Error: thread count must be between 1 and " + MAX_THREADS);
+		int kept = Math.min(threads, searches.length);
+		searches = Arrays.copyOf(searches, threads);
+		for (int i = kept; i < threads; i++) {
+			searches[i] = new Search(table);
+			searches[i].setThreadIndex(i);
+		}
+		searches[0].setListener(listener);
+	}
+
+	/**
+	 * Returns the number of threads
+	 * @return threads
+	 */
+	public int getThreads() {
+		return searches.length;
+	}
+
+	/**
+	 * Sets the listener receiving the result of every iteration completed by the main thread
+	 * @param listener listener, or null for none
+	 */
+	public void setListener(SearchListener listener) {
+		this.listener = listener;
+		searches[0].setListener(listener);
+	}
+
+	/**
+	 * Returns the transposition table shared by the threads
+	 * @return table
+	 */
+	public TranspositionTable getTable() {
+		return table;
+	}
+}
@@ -0,0 +1,420 @@
+package chessEngine;
+
+import java.util.Arrays;
+
+import chessModel.MoveGenerator;
+import chessModel.Moves;
+import chessModel.Position;
+
+/**
+ * Negamax alpha-beta search with principal variation search and iterative deepening. Each iteration
+ * searches one ply deeper than the last, and the search stops on a depth, node or time limit (see
+ * SearchLimits) or when stop is called. The result of the deepest completed iteration is returned.
+ *
+ * Results are stored in a transposition table, which cuts off positions already searched deep enough
+ * outside the principal variation and gives the move searched first everywhere, so each iteration
+ * starts with the best moves of the one before. The other moves are ordered by a MovePicker, with
+ * killer moves and history scores kept by each search. At the end of the depth, a quiescence search
+ * plays on the winning captures until the position is quiet, so no position is evaluated in the middle
+ * of an exchange.
+ *
+ * A search works on its own copy of the root position with move buffers allocated once per Search,
+ * so a Search must only be used by one thread at a time, and searches in different threads need
+ * different Search objects. Searches may share a transposition table, and ParallelSearch runs several
+ * over one table in parallel
+ */
+public class Search {
+
+	/** Deepest ply the search can reach */
+	public static final int MAX_PLY = 128;
+	/** Score of a checkmate at the root, mates further away score one less per ply */
+	public static final int MATE = 32000;
+	/** Lowest score of a mate found within MAX_PLY */
+	public static final int MATE_BOUND = MATE - MAX_PLY;
+	/** Score beyond every real score, used as the initial search window */
+	private static final int INFINITY = MATE + 1;
+	/** Score of a draw */
+	private static final int DRAW = 0;
+	/** Halfmove clock value at which the fifty-move rule draws the game */
+	private static final int FIFTY_MOVES = 100;
+	/** Number of nodes between checks of the limits, a power of two */
+	private static final int CHECK_INTERVAL = 1024;
+	/**
+	 * Depths skipped by the helper threads of a parallel search, so they spread over different depths:
+	 * helper i skips the depths where (depth + SKIP_PHASE[i]) / SKIP_SIZE[i] is odd
+	 */
+	private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+	private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+	/** Bound of history scores, which approach it ever more slowly */
+	private static final int MAX_HISTORY = 16384;
+	/** Largest change of a history score by one cutoff */
+	private static final int MAX_HISTORY_BONUS = 2048;
+	/**
+	 * Margin of delta pruning: a capture is skipped in the quiescence search when the evaluation plus the
+	 * value of the captured piece plus this margin still does not reach alpha
+	 */
+	private static final int DELTA_MARGIN = 200;
+
+	/** Transposition table, possibly shared with other searches */
+	private final TranspositionTable table;
+	/** Position searched, a copy of the root position */
+	private Position position;
+	/**
+	 * History scores of quiet moves, indexed by side to move, from square and to square: raised for moves
+	 * that cause a cutoff and lowered for the quiet moves searched before them
+	 */
+	private final int[][][] history = new int[2][64][64];
+	/** Killer moves of each ply: the last two quiet moves that caused a cutoff at the ply */
+	private final int[][] killers = new int[MAX_PLY][2];
+	/** Move picker of each ply */
+	private final MovePicker[] pickers = new MovePicker[MAX_PLY];
+	/** Quiet moves searched so far at each ply */
+	private final int[][] quietsSearched = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+	/** Triangular principal variation table: pv[ply] holds the best line from ply onwards */
+	private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+	/** End of the principal variation of each ply in pv */
+	private final int[] pvLength = new int[MAX_PLY + 1];
+	/** Number of nodes searched */
+	private long nodes;
+	/** Maximum number of nodes */
+	private long nodeLimit;
+	/** System.nanoTime at which the search must stop */
+	private long deadline;
+	/** True once an iteration completed, since the first iteration is never cut short */
+	private boolean canAbort;
+	/** True if the current iteration was cut short by a limit */
+	private boolean aborted;
+	/** Set by stop from another thread */
+	private volatile boolean stopRequested;
+	/** Receives the result of every iteration, null if none */
+	private SearchListener listener;
+	/** Index of the search among the threads of a parallel search, 0 for the main or only search */
+	private int threadIndex;
+
+	/**
+	 * Constructor with a transposition table of the default size
+	 */
+	public Search() {
+		this(new HeapTranspositionTable(TranspositionTable.DEFAULT_MEGABYTES));
+	}
+
+	/**
+	 * Constructor with a given transposition table
+	 * @param table transposition table, kept between searches
+	 */
+	public Search(TranspositionTable table) {
+		this.table = table;
+		for (int ply = 0; ply < MAX_PLY; ply++) {
+			pickers[ply] = new MovePicker(history);
+		}
+	}
+
+	/**
+	 * Searches a position for the best move of the side to move within limits. The position is not
+	 * changed
+	 * @param root position to search
+	 * @param limits depth, node and time limits
+	 * @return result of the deepest completed iteration, with no moves if the side to move has no
+	 *         legal move
+	 */
+	public SearchResult search(Position root, SearchLimits limits) {
+		stopRequested = false;
+		table.newSearch();
+		return iterate(root, limits);
+	}
+
+	/**
+	 * Searches a position by iterative deepening, without starting a new search in the transposition
+	 * table or clearing stop requests, so the threads of a parallel search share one search
+	 * @param root position to search, only read
+	 * @param limits depth, node and time limits
+	 * @return result of the deepest completed iteration, null if a helper thread completed none
+	 */
+	SearchResult iterate(Position root, SearchLimits limits) {
+		long start = System.nanoTime();
+		int color = root.getSideToMove();
+		long optimum = limits.optimumTime(color);
+		long maximum = limits.maximumTime(color);
+		position = new Position(root);
+		nodes = 0;
+		nodeLimit = limits.getNodes();
+		deadline = maximum >= 0 ? start + maximum * 1000000 : Long.MAX_VALUE;
+		// helper threads have no result to keep, so they stop whenever asked
+		canAbort = threadIndex > 0;
+		aborted = false;
+		for (int[] plyKillers : killers) {
+			Arrays.fill(plyKillers, Moves.NONE);
+		}
+		for (int[][] sideHistory : history) {
+			for (int[] fromHistory : sideHistory) {
+				Arrays.fill(fromHistory, 0);
+			}
+		}
+
+		SearchResult result = null;
+		for (int depth = 1; depth <= limits.getDepth(); depth++) {
+			if (threadIndex > 0 && ((depth + SKIP_PHASE[(threadIndex - 1) % SKIP_PHASE.length])
+					/ SKIP_SIZE[(threadIndex - 1) % SKIP_SIZE.length]) % 2 != 0)
+				continue;
+			int score = negamax(depth, -INFINITY, INFINITY, 0);
+			if (aborted)
+				break;
+			int[] line = Arrays.copyOf(pv[0], pvLength[0]);
+			result = new SearchResult(line, score, depth, nodes, (System.nanoTime() - start) / 1000000, table.hashfull());
+			canAbort = true;
+			if (listener != null)
+				listener.iterationComplete(result);
+			// stop when there is no move, or a mate was found within the full width of the search
+			if (line.length == 0 || Math.abs(score) >= MATE_BOUND && MATE - Math.abs(score) <= depth)
+				break;
+			// the next iteration takes longer than all before it, so it is not started past half the time
+			if (optimum >= 0 && result.getTime() >= optimum / 2)
+				break;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the score of the current position for the side to move, searched to a depth within the
+	 * window alpha to beta. The first move is searched with the full window, every other move with a
+	 * null window first, and again with the full window only if it beats alpha. Outside the principal
+	 * variation, a stored result searched at least as deep is returned if its bound decides the window
+	 * @param depth remaining depth in plies
+	 * @param alpha score the side to move is already sure of
+	 * @param beta score the opponent is already sure of
+	 * @param ply distance from the root
+	 * @return score, or a bound of it outside the window
+	 */
+	private int negamax(int depth, int alpha, int beta, int ply) {
+		pvLength[ply] = ply;
+		if ((++nodes & (CHECK_INTERVAL - 1)) == 0)
+			checkLimits();
+		if (aborted)
+			return 0;
+		if (ply > 0 && (position.isRepetition() || position.getHalfmoveClock() >= FIFTY_MOVES))
+			return DRAW;
+		boolean inCheck = position.inCheck();
+		// checks are extended so a series of checks does not hide a loss past the horizon
+		if (inCheck)
+			depth++;
+		if (depth <= 0)
+			return quiescence(alpha, beta, ply);
+		if (ply >= MAX_PLY - 1)
+			return Evaluation.evaluate(position);
+
+		long key = position.getKey();
+		long entry = table.probe(key);
+		int hashMove = TranspositionTable.move(entry);
+		if (entry != 0 && beta - alpha == 1 && TranspositionTable.depth(entry) >= depth) {
+			int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+			int bound = TranspositionTable.bound(entry);
+			if (bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER_BOUND && score >= beta
+					|| bound == TranspositionTable.UPPER_BOUND && score <= alpha)
+				return score;
+		}
+
+		MovePicker picker = pickers[ply];
+		picker.init(position, hashMove, killers[ply][0], killers[ply][1]);
+		int[] quiets = quietsSearched[ply];
+		int quietCount = 0;
+		int searched = 0;
+		int originalAlpha = alpha;
+		int best = -INFINITY;
+		int bestMove = Moves.NONE;
+		int move;
+		while ((move = picker.next()) != Moves.NONE) {
+			boolean quiet = !Moves.isCapture(move) && !Moves.isPromotion(move);
+			position.makeMove(move);
+			int score;
+			if (searched++ == 0) {
+				score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+			} else {
+				score = -negamax(depth - 1, -alpha - 1, -alpha, ply + 1);
+				if (score > alpha && score < beta)
+					score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+			}
+			position.unmakeMove();
+			if (aborted)
+				return 0;
+			if (score > best) {
+				best = score;
+				if (score > alpha) {
+					alpha = score;
+					bestMove = move;
+					updatePv(ply, move);
+					if (alpha >= beta) {
+						if (quiet)
+							updateQuietStatistics(move, quiets, quietCount, depth, ply);
+						break;
+					}
+				}
+			}
+			if (quiet)
+				quiets[quietCount++] = move;
+		}
+		if (searched == 0)
+			return inCheck ? -MATE + ply : DRAW;
+		int bound = best >= beta ? TranspositionTable.LOWER_BOUND
+				: best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+		table.store(key, bestMove, TranspositionTable.scoreToTable(best, ply), depth, bound);
+		return best;
+	}
+
+	/**
+	 * Returns the score of the current position for the side to move once it is quiet, within the
+	 * window alpha to beta. The side to move may stand pat with the evaluation, or try its winning
+	 * captures and queen promotions, except captures that cannot raise the score to alpha. In check it
+	 * cannot stand pat, and every evasion is searched
+	 * @param alpha score the side to move is already sure of
+	 * @param beta score the opponent is already sure of
+	 * @param ply distance from the root
+	 * @return score, or a bound of it outside the window
+	 */
+	private int quiescence(int alpha, int beta, int ply) {
+		pvLength[ply] = ply;
+		if ((++nodes & (CHECK_INTERVAL - 1)) == 0)
+			checkLimits();
+		if (aborted)
+			return 0;
+		if (position.isRepetition() || position.getHalfmoveClock() >= FIFTY_MOVES)
+			return DRAW;
+		if (ply >= MAX_PLY - 1)
+			return Evaluation.evaluate(position);
+
+		boolean inCheck = position.inCheck();
+		MovePicker picker = pickers[ply];
+		int standPat = -INFINITY;
+		int best = -INFINITY;
+		if (inCheck) {
+			picker.init(position, Moves.NONE, Moves.NONE, Moves.NONE);
+		} else {
+			standPat = Evaluation.evaluate(position);
+			if (standPat >= beta)
+				return standPat;
+			alpha = Math.max(alpha, standPat);
+			best = standPat;
+			picker.initCaptures(position);
+		}
+
+		int searched = 0;
+		int move;
+		while ((move = picker.next()) != Moves.NONE) {
+			if (!inCheck && !Moves.isPromotion(move)) {
+				int victim = Moves.isEnPassant(move) ? Position.PAWN : Position.typeOf(position.pieceAt(Moves.to(move)));
+				if (standPat + Evaluation.PIECE_VALUES[victim] + DELTA_MARGIN <= alpha)
+					continue;
+			}
+			searched++;
+			position.makeMove(move);
+			int score = -quiescence(-beta, -alpha, ply + 1);
+			position.unmakeMove();
+			if (aborted)
+				return 0;
+			if (score > best) {
+				best = score;
+				if (score > alpha) {
+					alpha = score;
+					updatePv(ply, move);
+					if (alpha >= beta)
+						break;
+				}
+			}
+		}
+		if (inCheck && searched == 0)
+			return -MATE + ply;
+		return best;
+	}
+
+	/**
+	 * Records a quiet move causing a cutoff: it becomes the first killer move of the ply, its history
+	 * score is raised and the scores of the quiet moves searched before it are lowered, more so the
+	 * deeper the search
+	 */
+	private void updateQuietStatistics(int move, int[] quiets, int quietCount, int depth, int ply) {
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		int[][] sideHistory = history[position.getSideToMove()];
+		int bonus = Math.min(32 * depth * depth, MAX_HISTORY_BONUS);
+		updateHistory(sideHistory, move, bonus);
+		for (int i = 0; i < quietCount; i++) {
+			updateHistory(sideHistory, quiets[i], -bonus);
+		}
+	}
+
+	/**
+	 * Adds a bonus to the history score of a move, scaled down the closer the score already is to
+	 * MAX_HISTORY in the direction of the bonus, so scores stay within MAX_HISTORY and recent
+	 * cutoffs outweigh old ones
+	 */
+	private static void updateHistory(int[][] sideHistory, int move, int bonus) {
+		int[] fromHistory = sideHistory[Moves.from(move)];
+		int to = Moves.to(move);
+		fromHistory[to] += bonus - fromHistory[to] * Math.abs(bonus) / MAX_HISTORY;
+	}
+
+	/**
+	 * Makes a move followed by the best line of the next ply the principal variation of a ply
+	 */
+	private void updatePv(int ply, int move) {
+		pv[ply][ply] = move;
+		System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+		pvLength[ply] = pvLength[ply + 1];
+	}
+
+	/**
+	 * Cuts the current iteration short if a stop was requested, or the node or time limit is reached
+	 */
+	private void checkLimits() {
+		if (canAbort && (stopRequested || nodes >= nodeLimit || System.nanoTime() >= deadline))
+			aborted = true;
+	}
+
+	/**
+	 * Stops a running search from another thread. The search returns the result of its deepest completed
+	 * iteration
+	 */
+	public void stop() {
+		stopRequested = true;
+	}
+
+	/**
+	 * Clears a stop request before a parallel search starts
+	 */
+	void clearStop() {
+		stopRequested = false;
+	}
+
+	/**
+	 * Sets the index of the search among the threads of a parallel search
+	 * @param threadIndex 0 for the main thread, from 1 for the helper threads
+	 */
+	void setThreadIndex(int threadIndex) {
+		this.threadIndex = threadIndex;
+	}
+
+	/**
+	 * Sets the listener receiving the result of every completed iteration
+	 * @param listener listener, or null for none
+	 */
+	public void setListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Returns the number of nodes searched by the last search
+	 * @return nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the transposition table of the search
+	 * @return table
+	 */
+	public TranspositionTable getTable() {
+		return table;
+	}
+}
@@ -0,0 +1,120 @@
+package chessEngine;
+
+import chessModel.Position;
+
+/**
+ * Limits of a search: a maximum depth, a node budget, a fixed time per move, or the clock times and
+ * increments of both sides from which the time for one move is allocated. A new SearchLimits has no
+ * limit at all, so the search runs until it reaches the maximum depth or is stopped
+ */
+public class SearchLimits {
+
+	/** Time in milliseconds kept back from the clock for the overhead of sending a move */
+	private static final long MOVE_OVERHEAD = 30;
+	/** Number of moves the remaining time is spread over when the moves to the time control are unknown */
+	private static final int DEFAULT_MOVES_TO_GO = 30;
+
+	/** Maximum depth in plies */
+	private int depth = Search.MAX_PLY - 1;
+	/** Maximum number of nodes */
+	private long nodes = Long.MAX_VALUE;
+	/** Time per move in milliseconds, -1 if not set */
+	private long moveTime = -1;
+	/** Remaining clock time of each side in milliseconds, -1 if not set */
+	private long[] time = {-1, -1};
+	/** Increment of each side in milliseconds */
+	private long[] increment = {0, 0};
+	/** Number of moves to the next time control, 0 if unknown */
+	private int movesToGo = 0;
+
+	/**
+	 * Returns the time the search should aim to use for a move, after which it starts no new iteration.
+	 * A fixed time per move is the whole budget of the move, so it has no optimum and the search only
+	 * stops at the maximum time
+	 * @param color color to move
+	 * @return time in milliseconds, -1 if there is no clock time
+	 */
+	public long optimumTime(int color) {
+		if (moveTime >= 0 || time[color] < 0)
+			return -1;
+		int moves = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+		return Math.min(time[color] / moves + increment[color] * 3 / 4, maximumTime(color));
+	}
+
+	/**
+	 * Returns the time after which the search is stopped in the middle of an iteration
+	 * @param color color to move
+	 * @return time in milliseconds, -1 if there is no time limit
+	 */
+	public long maximumTime(int color) {
+		if (moveTime >= 0)
+			return moveTime;
+		if (time[color] < 0)
+			return -1;
+		long available = Math.max(time[color] - MOVE_OVERHEAD, 1);
+		return Math.min(available, available / 4 + increment[color]);
+	}
+
+	/**
+	 * Sets the maximum depth
+	 * @param depth depth in plies, from 1 to Search.MAX_PLY - 1
+	 */
+	public void setDepth(int depth) {
+		if (depth < 1 || depth >= Search.MAX_PLY)
+			throw new IllegalArgumentException("Error: depth must be between 1 and " + (Search.MAX_PLY - 1));
+		this.depth = depth;
+	}
+
+	/**
+	 * Sets the maximum number of nodes
+	 * @param nodes node budget, at least 1
+	 */
+	public void setNodes(long nodes) {
+		if (nodes < 1)
+			throw new IllegalArgumentException("Error: node limit must be positive");
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Sets a fixed time per move, which takes precedence over clock times
+	 * @param moveTime time in milliseconds
+	 */
+	public void setMoveTime(long moveTime) {
+		if (moveTime < 0)
+			throw new IllegalArgumentException("Error: move time cannot be negative");
+		this.moveTime = moveTime;
+	}
+
+	/**
+	 * Sets the remaining clock time and increment of a side
+	 * @param color Position.WHITE or Position.BLACK
+	 * @param time remaining time in milliseconds
+	 * @param increment increment per move in milliseconds
+	 */
+	public void setClock(int color, long time, long increment) {
+		if (color != Position.WHITE && color != Position.BLACK)
+			throw new IllegalArgumentException("Error: color must be Position.WHITE or Position.BLACK");
+		if (time < 0 || increment < 0)
+			throw new IllegalArgumentException("Error: clock times cannot be negative");
+		this.time[color] = time;
+		this.increment[color] = increment;
+	}
+
+	/**
+	 * Sets the number of moves to the next time control
+	 * @param movesToGo number of moves, 0 if unknown
+	 */
+	public void setMovesToGo(int movesToGo) {
+		if (movesToGo < 0)
+			throw new IllegalArgumentException("Error: moves to go cannot be negative");
+		this.movesToGo = movesToGo;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+}
@@ -0,0 +1,14 @@
+package chessEngine;
+
+/**
+ * Receives the result of every completed iteration of a search, e.g. to print analysis while the
+ * search goes on. Called from the searching thread
+ */
+public interface SearchListener {
+
+	/**
+	 * Called when an iteration of the search completed
+	 * @param result best move, principal variation and score of the iteration
+	 */
+	public void iterationComplete(SearchResult result);
+}
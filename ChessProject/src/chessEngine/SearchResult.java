@@ -0,0 +1,110 @@
+package chessEngine;
+
+import chessModel.Moves;
+
+/**
+ * Result of a completed search iteration: the best move and principal variation as packed move codes
+ * (see Moves), their score and the effort spent finding them
+ */
+public class SearchResult {
+
+	/** Principal variation, best move first */
+	private final int[] pv;
+	/** Score of the principal variation for the side to move, in centipawns or a mate score */
+	private final int score;
+	/** Depth of the iteration in plies */
+	private final int depth;
+	/** Number of nodes searched */
+	private final long nodes;
+	/** Time spent in milliseconds */
+	private final long time;
+	/** Permille of the transposition table in use */
+	private final int hashfull;
+
+	/**
+	 * Constructor with all fields
+	 * @param pv principal variation, not copied
+	 * @param score score for the side to move
+	 * @param depth depth in plies
+	 * @param nodes nodes searched
+	 * @param time time spent in milliseconds
+	 * @param hashfull permille of the transposition table in use
+	 */
+	public SearchResult(int[] pv, int score, int depth, long nodes, long time, int hashfull) {
+		this.pv = pv;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = nodes;
+		this.time = time;
+		this.hashfull = hashfull;
+	}
+
+	/**
+	 * Returns the best move
+	 * @return packed move code, Moves.NONE if the side to move has no legal move
+	 */
+	public int getBestMove() {
+		return pv.length > 0 ? pv[0] : Moves.NONE;
+	}
+
+	/**
+	 * Returns the principal variation
+	 * @return copy of the packed move codes, best move first
+	 */
+	public int[] getPv() {
+		return pv.clone();
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	public int getHashfull() {
+		return hashfull;
+	}
+
+	/**
+	 * Returns true if the score is a forced mate for either side
+	 * @return true if mate score, false otherwise
+	 */
+	public boolean isMate() {
+		return Math.abs(score) >= Search.MATE_BOUND;
+	}
+
+	/**
+	 * Returns the number of moves to the forced mate, negative if the side to move gets mated
+	 * @return moves to mate, 0 if the score is no mate score
+	 */
+	public int getMateIn() {
+		if (!isMate())
+			return 0;
+		return score > 0 ? (Search.MATE - score + 1) / 2 : -(Search.MATE + score) / 2;
+	}
+
+	/**
+	 * Returns the result as a UCI style info line, e.g. "depth 6 score cp 35 nodes 81234 time 120 hashfull 12 pv e2e4 e7e5"
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("depth ").append(depth).append(" score ");
+		s.append(isMate() ? "mate " + getMateIn() : "cp " + score);
+		s.append(" nodes ").append(nodes).append(" time ").append(time);
+		s.append(" hashfull ").append(hashfull).append(" pv");
+		for (int move : pv) {
+			s.append(' ').append(Moves.toString(move));
+		}
+		return s.toString();
+	}
+}
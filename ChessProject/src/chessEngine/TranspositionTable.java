@@ -0,0 +1,272 @@
+package chessEngine;
+
+/**
+ * Fixed-size transposition table storing search results by position key. The table is sized in
+ * megabytes when it is created and never grows. Subclasses hold the words of the table, on the heap
+ * (HeapTranspositionTable) or off it (OffHeapTranspositionTable), and this class packs and replaces
+ * entries in them.
+ *
+ * Each entry is two longs: the data, packing the best move, score, depth, bound and age, and the
+ * position key XOR the data. An entry is only trusted if its two words XOR back to the key probed for,
+ * so search threads can share a table without locks: an entry torn by two threads writing at once
+ * fails the check and reads as a miss. Entries are grouped in buckets of four, one 64 byte cache line.
+ * A new entry replaces the entry of the same key, or else the bucket's entry with the least depth left
+ * by the oldest search
+ */
+public abstract class TranspositionTable {
+
+	/** Bounds of a stored score: the true score is at most, at least or exactly the stored score */
+	public static final int UPPER_BOUND = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int EXACT = 3;
+
+	/** Size of a table when none is given */
+	public static final int DEFAULT_MEGABYTES = 16;
+
+	/** Number of entries in a bucket */
+	private static final int BUCKET_SIZE = 4;
+	/** Number of bytes of an entry */
+	private static final int ENTRY_BYTES = 16;
+	/** Bit layout of the data word: move bits 0-15, score 16-31, depth 32-39, bound 40-41, age 42-47 */
+	private static final int SCORE_SHIFT = 16;
+	private static final int DEPTH_SHIFT = 32;
+	private static final int BOUND_SHIFT = 40;
+	private static final int AGE_SHIFT = 42;
+	/** Number of different ages, after which ages wrap around */
+	private static final int AGES = 64;
+	/** Number of buckets sampled to estimate how full the table is */
+	private static final int HASHFULL_SAMPLE = 250;
+
+	/** Index mask of the bucket of a key */
+	private final long bucketMask;
+	/** Age of the current search, stored in every entry it writes */
+	private volatile int age;
+
+	/**
+	 * Constructor for a table of a number of buckets
+	 * @param buckets number of buckets, a power of two
+	 */
+	protected TranspositionTable(long buckets) {
+		bucketMask = buckets - 1;
+	}
+
+	/**
+	 * Returns the number of buckets of a table of a given size: the largest power of two that fits in
+	 * it, so a table uses between half and all of its size
+	 * @param megabytes size in megabytes
+	 * @return number of buckets
+	 */
+	private static long bucketsFor(int megabytes) {
+		return Long.highestOneBit((long) megabytes * 1024 * 1024 / (ENTRY_BYTES * BUCKET_SIZE));
+	}
+
+	/**
+	 * Returns the number of buckets of a table of a given size, checking the size against the largest
+	 * size of a backend
+	 * @param megabytes size in megabytes
+	 * @param maxMegabytes largest size in megabytes
+	 * @return number of buckets
+	 * @throws IllegalArgumentException if the size is not between 1 and maxMegabytes
+	 */
+	protected static long checkedBuckets(int megabytes, int maxMegabytes) {
+		if (megabytes < 1 || megabytes > maxMegabytes)
+			throw new IllegalArgumentException("Error: table size must be between 1 and " + maxMegabytes + " megabytes");
+		return bucketsFor(megabytes);
+	}
+
+	/**
+	 * Returns a word of the table. Entry i is made of words 2 * i, the key XOR the data, and 2 * i + 1,
+	 * the data
+	 * @param index index of the word
+	 * @return word, 0 if never written
+	 */
+	protected abstract long getWord(long index);
+
+	/**
+	 * Writes a word of the table
+	 * @param index index of the word
+	 * @param word word to write
+	 */
+	protected abstract void setWord(long index, long word);
+
+	/**
+	 * Sets every word of the table to 0
+	 */
+	protected abstract void clearWords();
+
+	/**
+	 * Returns the data stored for a position key
+	 * @param key position key
+	 * @return data word, read with the static accessors, or 0 if the key is not stored
+	 */
+	public long probe(long key) {
+		long index = bucketIndex(key);
+		for (long i = index; i < index + BUCKET_SIZE * 2; i += 2) {
+			long data = getWord(i + 1);
+			if ((getWord(i) ^ data) == key && data != 0)
+				return data;
+		}
+		return 0;
+	}
+
+	/**
+	 * Stores a search result for a position key. A result for a key already stored replaces it unless it
+	 * was searched much shallower, and keeps the stored move if it has none
+	 * @param key position key
+	 * @param move best move, or Moves.NONE
+	 * @param score score, with mate scores relative to the position (see scoreToTable)
+	 * @param depth depth searched
+	 * @param bound UPPER_BOUND, LOWER_BOUND or EXACT
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		long index = bucketIndex(key);
+		long replace = index;
+		int replaceWorth = Integer.MAX_VALUE;
+		int current = age;
+		for (long i = index; i < index + BUCKET_SIZE * 2; i += 2) {
+			long data = getWord(i + 1);
+			if ((getWord(i) ^ data) == key && data != 0) {
+				if (bound != EXACT && depth < depth(data) - 2)
+					return;
+				if (move == 0)
+					move = move(data);
+				replace = i;
+				break;
+			}
+			// empty entries and entries of old searches go first, then the shallowest
+			int worth = data == 0 ? Integer.MIN_VALUE : depth(data) - 8 * ((current - age(data) + AGES) % AGES);
+			if (worth < replaceWorth) {
+				replaceWorth = worth;
+				replace = i;
+			}
+		}
+		long data = (move & 0xFFFFL) | (score & 0xFFFFL) << SCORE_SHIFT | (depth & 0xFFL) << DEPTH_SHIFT
+				| (long) bound << BOUND_SHIFT | (long) current << AGE_SHIFT;
+		setWord(replace, key ^ data);
+		setWord(replace + 1, data);
+	}
+
+	/**
+	 * Returns the index of the first word of a key's bucket
+	 */
+	private long bucketIndex(long key) {
+		return (key & bucketMask) * BUCKET_SIZE * 2;
+	}
+
+	/**
+	 * Starts a new search, so entries of earlier searches are replaced first
+	 */
+	public void newSearch() {
+		age = (age + 1) % AGES;
+	}
+
+	/**
+	 * Empties the table
+	 */
+	public void clear() {
+		clearWords();
+		age = 0;
+	}
+
+	/**
+	 * Frees the memory of the table. The table must not be used afterwards. Does nothing by default,
+	 * leaving the memory to the garbage collector
+	 */
+	public void release() {
+	}
+
+	/**
+	 * Returns how full the table is with entries of the current search, estimated from its first buckets
+	 * @return permille of entries in use
+	 */
+	public int hashfull() {
+		int buckets = (int) Math.min(HASHFULL_SAMPLE, bucketMask + 1);
+		int used = 0;
+		for (long i = 0; i < buckets * BUCKET_SIZE * 2; i += 2) {
+			long data = getWord(i + 1);
+			if (data != 0 && age(data) == age)
+				used++;
+		}
+		return used * 1000 / (buckets * BUCKET_SIZE);
+	}
+
+	/**
+	 * Returns the number of entries of the table
+	 * @return entries
+	 */
+	public long size() {
+		return (bucketMask + 1) * BUCKET_SIZE;
+	}
+
+	/**
+	 * Returns the best move of a data word
+	 * @param data data word returned by probe
+	 * @return packed move code, Moves.NONE if none was stored
+	 */
+	public static int move(long data) {
+		return (int) data & 0xFFFF;
+	}
+
+	/**
+	 * Returns the score of a data word
+	 * @param data data word returned by probe
+	 * @return score, with mate scores relative to the position
+	 */
+	public static int score(long data) {
+		return (short) (data >>> SCORE_SHIFT);
+	}
+
+	/**
+	 * Returns the depth of a data word
+	 * @param data data word returned by probe
+	 * @return depth searched
+	 */
+	public static int depth(long data) {
+		return (byte) (data >>> DEPTH_SHIFT);
+	}
+
+	/**
+	 * Returns the bound of a data word
+	 * @param data data word returned by probe
+	 * @return UPPER_BOUND, LOWER_BOUND or EXACT
+	 */
+	public static int bound(long data) {
+		return (int) (data >>> BOUND_SHIFT) & 3;
+	}
+
+	/**
+	 * Returns the age of a data word
+	 */
+	private static int age(long data) {
+		return (int) (data >>> AGE_SHIFT) & (AGES - 1);
+	}
+
+	/**
+	 * Converts a score to be stored. Mate scores count plies from the root, and are stored counting from
+	 * the position instead, so they stay right when the position is reached at another ply
+	 * @param score score counted from the root
+	 * @param ply distance of the position from the root
+	 * @return score to store
+	 */
+	public static int scoreToTable(int score, int ply) {
+		if (score >= Search.MATE_BOUND)
+			return score + ply;
+		if (score <= -Search.MATE_BOUND)
+			return score - ply;
+		return score;
+	}
+
+	/**
+	 * Converts a stored score back to a score counted from the root
+	 * @param score stored score
+	 * @param ply distance of the position from the root
+	 * @return score counted from the root
+	 */
+	public static int scoreFromTable(int score, int ply) {
+		if (score >= Search.MATE_BOUND)
+			return score - ply;
+		if (score <= -Search.MATE_BOUND)
+			return score + ply;
+		return score;
+	}
+}
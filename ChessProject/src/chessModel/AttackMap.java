@@ -0,0 +1,109 @@
+package chessModel;
+
+/**
+ * Attack map of a position keyed by square, kept up to date incrementally. When the contents of a
+ * square change, only the piece on that square and the sliders whose rays reach it are recomputed,
+ * instead of every piece on the board
+ */
+public class AttackMap {
+
+	/** Squares attacked by the piece standing on each square, 0 for empty squares */
+	private long[] attacksFrom = new long[64];
+	/** Squares holding a piece that attacks each square */
+	private long[] attackersTo = new long[64];
+
+	/**
+	 * Recomputes the attacks of every piece of a position from scratch
+	 * @param position position to map
+	 */
+	public void rebuild(Position position) {
+		for (int square = 0; square < 64; square++) {
+			attacksFrom[square] = 0;
+			attackersTo[square] = 0;
+		}
+		long pieces = position.getOccupied();
+		while (pieces != 0) {
+			refresh(position, Bitboards.lowestSquare(pieces));
+			pieces &= pieces - 1;
+		}
+	}
+
+	/**
+	 * Updates the map after the contents of a square changed (piece placed, removed or replaced).
+	 * Must be called once for every changed square, after the position has been changed
+	 * @param position changed position
+	 * @param square square whose contents changed
+	 */
+	public void squareChanged(Position position, int square) {
+		// sliders attacking the square have a ray through it, which is now blocked or unblocked
+		long sliders = attackersTo[square] & (position.getPieces(Position.WHITE, Position.BISHOP) | position.getPieces(Position.BLACK, Position.BISHOP)
+				| position.getPieces(Position.WHITE, Position.ROOK) | position.getPieces(Position.BLACK, Position.ROOK)
+				| position.getPieces(Position.WHITE, Position.QUEEN) | position.getPieces(Position.BLACK, Position.QUEEN));
+		refresh(position, square);
+		while (sliders != 0) {
+			refresh(position, Bitboards.lowestSquare(sliders));
+			sliders &= sliders - 1;
+		}
+	}
+
+	/**
+	 * Recomputes the attacks of the piece on one square and updates the attackers of every square
+	 * whose attacked status changed
+	 */
+	private void refresh(Position position, int square) {
+		long updated = computeAttacks(position, square);
+		long changed = attacksFrom[square] ^ updated;
+		long bit = Bitboards.bit(square);
+		while (changed != 0) {
+			attackersTo[Bitboards.lowestSquare(changed)] ^= bit;
+			changed &= changed - 1;
+		}
+		attacksFrom[square] = updated;
+	}
+
+	/**
+	 * Returns the squares attacked by the piece on a square of a position
+	 */
+	private static long computeAttacks(Position position, int square) {
+		int piece = position.pieceAt(square);
+		if (piece == Position.NO_PIECE)
+			return 0;
+		switch (Position.typeOf(piece)) {
+		case Position.PAWN: return Attacks.pawn(Position.colorOf(piece), square);
+		case Position.KNIGHT: return Attacks.knight(square);
+		case Position.BISHOP: return Attacks.bishop(square, position.getOccupied());
+		case Position.ROOK: return Attacks.rook(square, position.getOccupied());
+		case Position.QUEEN: return Attacks.queen(square, position.getOccupied());
+		default: return Attacks.king(square);
+		}
+	}
+
+	/**
+	 * Returns the squares attacked by the piece standing on a square
+	 * @param square square of piece
+	 * @return bitboard of attacked squares, 0 if the square is empty
+	 */
+	public long attacksFrom(int square) {
+		return attacksFrom[square];
+	}
+
+	/**
+	 * Returns the squares of all pieces, of both colors, attacking a square
+	 * @param square attacked square
+	 * @return bitboard of attacker squares
+	 */
+	public long attackersTo(int square) {
+		return attackersTo[square];
+	}
+
+	/**
+	 * Returns true if any piece of the passed color attacks a square
+	 * @param position mapped position
+	 * @param square attacked square
+	 * @param color WHITE or BLACK
+	 * @return true if attacked, false otherwise
+	 */
+	public boolean isAttacked(Position position, int square, int color) {
+		return (attackersTo[square] & position.getOccupancy(color)) != 0;
+	}
+}
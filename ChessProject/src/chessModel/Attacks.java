@@ -0,0 +1,146 @@
+package chessModel;
+
+/**
+ * Precomputed attack tables. Each table holds, for every square, the bitboard of squares a piece
+ * standing there attacks. Tables are built once when the class is loaded. Sliding piece attacks
+ * are looked up through the magic bitboard tables of Magics
+ */
+public final class Attacks {
+
+	/** Knight attacks indexed by square */
+	private static final long[] KNIGHT = new long[64];
+	/** King attacks indexed by square */
+	private static final long[] KING = new long[64];
+	/** Pawn capture attacks indexed by color, then square */
+	private static final long[][] PAWN = new long[2][64];
+	/** Squares strictly between two squares on a shared line, indexed by both squares */
+	private static final long[][] BETWEEN = new long[64][64];
+	/** Whole board line through two squares on a shared line, indexed by both squares */
+	private static final long[][] LINE = new long[64][64];
+
+	/** File and rank offsets of knight jumps */
+	private static final int[][] KNIGHT_STEPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+	/** File and rank offsets of king steps */
+	private static final int[][] KING_STEPS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			KNIGHT[square] = leaperAttacks(square, KNIGHT_STEPS);
+			KING[square] = leaperAttacks(square, KING_STEPS);
+			PAWN[Position.WHITE][square] = leaperAttacks(square, new int[][] {{-1, 1}, {1, 1}});
+			PAWN[Position.BLACK][square] = leaperAttacks(square, new int[][] {{-1, -1}, {1, -1}});
+		}
+		for (int a = 0; a < 64; a++) {
+			for (int b = 0; b < 64; b++) {
+				long ab = Bitboards.bit(a) | Bitboards.bit(b);
+				if (a == b) {
+					continue;
+				} else if (Bitboards.isSet(Magics.bishop(a, 0), b)) {
+					LINE[a][b] = (Magics.bishop(a, 0) & Magics.bishop(b, 0)) | ab;
+					BETWEEN[a][b] = Magics.bishop(a, Bitboards.bit(b)) & Magics.bishop(b, Bitboards.bit(a));
+				} else if (Bitboards.isSet(Magics.rook(a, 0), b)) {
+					LINE[a][b] = (Magics.rook(a, 0) & Magics.rook(b, 0)) | ab;
+					BETWEEN[a][b] = Magics.rook(a, Bitboards.bit(b)) & Magics.rook(b, Bitboards.bit(a));
+				}
+			}
+		}
+	}
+
+	private Attacks() {
+	}
+
+	/**
+	 * Builds the attack bitboard of a piece that jumps by fixed file/rank offsets
+	 * @param square square of piece
+	 * @param steps file and rank offsets of each jump
+	 * @return bitboard of attacked squares
+	 */
+	private static long leaperAttacks(int square, int[][] steps) {
+		long attacks = 0;
+		for (int[] step: steps) {
+			int file = Bitboards.file(square) + step[0];
+			int rank = Bitboards.rank(square) + step[1];
+			if (file >= 0 && file <= 7 && rank >= 0 && rank <= 7)
+				attacks |= Bitboards.bit(Bitboards.square(file, rank));
+		}
+		return attacks;
+	}
+
+	/**
+	 * Returns the squares attacked by a knight
+	 * @param square square of knight
+	 * @return bitboard of attacked squares
+	 */
+	public static long knight(int square) {
+		return KNIGHT[square];
+	}
+
+	/**
+	 * Returns the squares attacked by a king
+	 * @param square square of king
+	 * @return bitboard of attacked squares
+	 */
+	public static long king(int square) {
+		return KING[square];
+	}
+
+	/**
+	 * Returns the squares attacked (diagonally captured on) by a pawn
+	 * @param color WHITE or BLACK
+	 * @param square square of pawn
+	 * @return bitboard of attacked squares
+	 */
+	public static long pawn(int color, int square) {
+		return PAWN[color][square];
+	}
+
+	/**
+	 * Returns the squares attacked by a bishop
+	 * @param square square of bishop
+	 * @param occupied bitboard of all pieces on board
+	 * @return bitboard of attacked squares, including the first blocker of each ray
+	 */
+	public static long bishop(int square, long occupied) {
+		return Magics.bishop(square, occupied);
+	}
+
+	/**
+	 * Returns the squares attacked by a rook
+	 * @param square square of rook
+	 * @param occupied bitboard of all pieces on board
+	 * @return bitboard of attacked squares, including the first blocker of each ray
+	 */
+	public static long rook(int square, long occupied) {
+		return Magics.rook(square, occupied);
+	}
+
+	/**
+	 * Returns the squares attacked by a queen
+	 * @param square square of queen
+	 * @param occupied bitboard of all pieces on board
+	 * @return bitboard of attacked squares, including the first blocker of each ray
+	 */
+	public static long queen(int square, long occupied) {
+		return Magics.bishop(square, occupied) | Magics.rook(square, occupied);
+	}
+
+	/**
+	 * Returns the squares strictly between two squares sharing a rank, file or diagonal
+	 * @param a first square
+	 * @param b second square
+	 * @return bitboard of squares between, 0 if the squares do not share a line
+	 */
+	public static long between(int a, int b) {
+		return BETWEEN[a][b];
+	}
+
+	/**
+	 * Returns the whole rank, file or diagonal running through two squares
+	 * @param a first square
+	 * @param b second square
+	 * @return bitboard of the line from edge to edge, 0 if the squares do not share a line
+	 */
+	public static long line(int a, int b) {
+		return LINE[a][b];
+	}
+}
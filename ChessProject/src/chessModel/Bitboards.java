@@ -0,0 +1,107 @@
+package chessModel;
+
+/**
+ * Static helpers for 64-bit bitboards. Squares are indexed from a1 = 0, b1 = 1, ... h1 = 7, a2 = 8
+ * up to h8 = 63, so bit n of a bitboard represents square n
+ */
+public final class Bitboards {
+
+	/** Bitboard with no squares set */
+	public static final long EMPTY = 0L;
+	/** Bitboard of the a-file */
+	public static final long FILE_A = 0x0101010101010101L;
+	/** Bitboard of the h-file */
+	public static final long FILE_H = FILE_A << 7;
+	/** Bitboard of the first rank */
+	public static final long RANK_1 = 0xFFL;
+	/** Bitboard of the eighth rank */
+	public static final long RANK_8 = RANK_1 << 56;
+
+	private Bitboards() {
+	}
+
+	/**
+	 * Returns the square index of a file and rank
+	 * @param file file of square (0-7, a-h)
+	 * @param rank rank of square (0-7, 1-8)
+	 * @return square index (0-63)
+	 */
+	public static int square(int file, int rank) {
+		return rank * 8 + file;
+	}
+
+	/**
+	 * Returns the file of a square index
+	 * @param square square index (0-63)
+	 * @return file (0-7, a-h)
+	 */
+	public static int file(int square) {
+		return square & 7;
+	}
+
+	/**
+	 * Returns the rank of a square index
+	 * @param square square index (0-63)
+	 * @return rank (0-7, 1-8)
+	 */
+	public static int rank(int square) {
+		return square >>> 3;
+	}
+
+	/**
+	 * Returns a bitboard with only the passed square set
+	 * @param square square index (0-63)
+	 * @return single bit bitboard
+	 */
+	public static long bit(int square) {
+		return 1L << square;
+	}
+
+	/**
+	 * Returns true if the passed square is set in the bitboard
+	 * @param bitboard bitboard to test
+	 * @param square square index (0-63)
+	 * @return true if set, false otherwise
+	 */
+	public static boolean isSet(long bitboard, int square) {
+		return (bitboard & (1L << square)) != 0;
+	}
+
+	/**
+	 * Returns the index of the lowest set square of a non-empty bitboard
+	 * @param bitboard bitboard to scan
+	 * @return square index (0-63)
+	 */
+	public static int lowestSquare(long bitboard) {
+		return Long.numberOfTrailingZeros(bitboard);
+	}
+
+	/**
+	 * Returns the number of set squares of a bitboard
+	 * @param bitboard bitboard to count
+	 * @return number of squares set
+	 */
+	public static int count(long bitboard) {
+		return Long.bitCount(bitboard);
+	}
+
+	/**
+	 * Returns the algebraic name of a square index, e.g. "e4"
+	 * @param square square index (0-63)
+	 * @return square name
+	 */
+	public static String name(int square) {
+		return "" + (char) ('a' + file(square)) + (char) ('1' + rank(square));
+	}
+
+	/**
+	 * Returns the square index of an algebraic square name, e.g. 28 for "e4"
+	 * @param name square name
+	 * @return square index (0-63)
+	 */
+	public static int parseSquare(String name) {
+		if (name.length() != 2 || name.charAt(0) < 'a' || name.charAt(0) > 'h' || name.charAt(1) < '1' || name.charAt(1) > '8')
+			throw new IllegalArgumentException("Error: invalid square name " + name);
+		return square(name.charAt(0) - 'a', name.charAt(1) - '1');
+	}
+}
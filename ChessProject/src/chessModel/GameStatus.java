@@ -0,0 +1,86 @@
+package chessModel;
+
+/**
+ * State of a game after a move: still going on, or ended by checkmate or one of the draw rules. A
+ * position is judged without generating all of its moves: the search for a legal move stops at the
+ * first group of moves found, the fifty-move rule reads the halfmove clock, repetitions are found in
+ * the position's key history and dead material is recognised from the piece bitboards
+ */
+public enum GameStatus {
+
+	ONGOING("Game in progress"),
+	CHECKMATE("Checkmate"),
+	STALEMATE("Stalemate"),
+	THREEFOLD_REPETITION("Threefold repetition"),
+	FIFTY_MOVE_RULE("Fifty-move rule"),
+	INSUFFICIENT_MATERIAL("Insufficient material");
+
+	/** Halfmove clock value at which fifty moves by each side passed without a capture or pawn move */
+	private static final int FIFTY_MOVES = 100;
+
+	/** Bitboard of the light squares */
+	private static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+
+	/** Name of the status shown to players */
+	private final String description;
+
+	GameStatus(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * Returns the status of the game in a position. Checkmate and stalemate are found first, since a
+	 * move that mates ends the game even if it also completes a draw rule
+	 * @param position position to judge, with the side to move to play next
+	 * @param moves scratch move buffer of at least MoveGenerator.MAX_MOVES entries
+	 * @return status of the game
+	 */
+	public static GameStatus evaluate(Position position, int[] moves) {
+		if (!MoveGenerator.hasLegalMove(position, moves))
+			return position.inCheck() ? CHECKMATE : STALEMATE;
+		if (position.repetitionCount() >= 2)
+			return THREEFOLD_REPETITION;
+		if (position.getHalfmoveClock() >= FIFTY_MOVES)
+			return FIFTY_MOVE_RULE;
+		if (insufficientMaterial(position))
+			return INSUFFICIENT_MATERIAL;
+		return ONGOING;
+	}
+
+	/**
+	 * Returns true if neither side has the material to ever checkmate: bare kings, a single minor
+	 * piece, or bishops of either side that all stand on squares of one color
+	 */
+	private static boolean insufficientMaterial(Position position) {
+		long heavy = 0;
+		long knights = 0;
+		long bishops = 0;
+		for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+			heavy |= position.getPieces(color, Position.PAWN) | position.getPieces(color, Position.ROOK)
+					| position.getPieces(color, Position.QUEEN);
+			knights |= position.getPieces(color, Position.KNIGHT);
+			bishops |= position.getPieces(color, Position.BISHOP);
+		}
+		if (heavy != 0)
+			return false;
+		if (Bitboards.count(knights | bishops) <= 1)
+			return true;
+		return knights == 0 && ((bishops & LIGHT_SQUARES) == 0 || (bishops & ~LIGHT_SQUARES) == 0);
+	}
+
+	/**
+	 * Returns true if the game has ended
+	 * @return true if the status is not ONGOING, false otherwise
+	 */
+	public boolean isOver() {
+		return this != ONGOING;
+	}
+
+	/**
+	 * Returns the name of the status shown to players
+	 * @return description of status
+	 */
+	public String getDescription() {
+		return description;
+	}
+}
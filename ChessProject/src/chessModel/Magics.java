@@ -0,0 +1,176 @@
+package chessModel;
+
+/**
+ * Fancy magic bitboard tables for sliding piece attacks. For every square, the relevant blockers of
+ * an occupancy are multiplied by a magic number and shifted down to an index into a shared attack
+ * table, so a slider's attack set is one multiply, shift and array read.
+ * Magic numbers are searched for when the class is loaded, using a fixed seed so the generated
+ * tables are identical on every run
+ */
+final class Magics {
+
+	/** Seeds of the random number generator used to search for magic numbers, indexed by rank. These
+	 * seeds are known to lead to valid magics after few attempts, which keeps class loading fast */
+	private static final long[] SEEDS = {728, 10316, 55013, 32803, 12281, 15100, 16645, 255};
+
+	/** File and rank directions of bishop rays */
+	private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {-1, 1}, {-1, -1}, {1, -1}};
+	/** File and rank directions of rook rays */
+	private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+
+	/** Relevant blocker masks indexed by square */
+	private static final long[] BISHOP_MASKS = new long[64];
+	private static final long[] ROOK_MASKS = new long[64];
+	/** Magic multipliers indexed by square */
+	private static final long[] BISHOP_MAGICS = new long[64];
+	private static final long[] ROOK_MAGICS = new long[64];
+	/** Right shifts (64 - number of relevant blockers) indexed by square */
+	private static final int[] BISHOP_SHIFTS = new int[64];
+	private static final int[] ROOK_SHIFTS = new int[64];
+	/** Offsets of each square's slice of the attack table */
+	private static final int[] BISHOP_OFFSETS = new int[64];
+	private static final int[] ROOK_OFFSETS = new int[64];
+	/** Shared attack tables, one slice per square */
+	private static final long[] BISHOP_TABLE;
+	private static final long[] ROOK_TABLE;
+
+	/** State of the xorshift random number generator */
+	private static long random;
+
+	static {
+		BISHOP_TABLE = new long[initSlider(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS)];
+		ROOK_TABLE = new long[initSlider(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS)];
+		for (int square = 0; square < 64; square++) {
+			BISHOP_MAGICS[square] = findMagic(square, BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS, BISHOP_TABLE);
+			ROOK_MAGICS[square] = findMagic(square, ROOK_DIRECTIONS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS, ROOK_TABLE);
+		}
+	}
+
+	private Magics() {
+	}
+
+	/**
+	 * Returns the squares attacked by a bishop
+	 * @param square square of bishop
+	 * @param occupied bitboard of all pieces on board
+	 * @return bitboard of attacked squares, including the first blocker of each ray
+	 */
+	static long bishop(int square, long occupied) {
+		return BISHOP_TABLE[BISHOP_OFFSETS[square] + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	/**
+	 * Returns the squares attacked by a rook
+	 * @param square square of rook
+	 * @param occupied bitboard of all pieces on board
+	 * @return bitboard of attacked squares, including the first blocker of each ray
+	 */
+	static long rook(int square, long occupied) {
+		return ROOK_TABLE[ROOK_OFFSETS[square] + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	/**
+	 * Fills the blocker masks, shifts and table offsets of one slider type
+	 * @return total size of the slider's attack table
+	 */
+	private static int initSlider(int[][] directions, long[] masks, int[] shifts, int[] offsets) {
+		int size = 0;
+		for (int square = 0; square < 64; square++) {
+			masks[square] = blockerMask(square, directions);
+			int bits = Bitboards.count(masks[square]);
+			shifts[square] = 64 - bits;
+			offsets[square] = size;
+			size += 1 << bits;
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the squares whose occupancy can change a slider's attacks. The last square of each ray
+	 * is left out, since a piece there blocks nothing
+	 */
+	private static long blockerMask(int square, int[][] directions) {
+		long mask = 0;
+		for (int[] d: directions) {
+			int file = Bitboards.file(square) + d[0];
+			int rank = Bitboards.rank(square) + d[1];
+			while (file + d[0] >= 0 && file + d[0] <= 7 && rank + d[1] >= 0 && rank + d[1] <= 7) {
+				mask |= Bitboards.bit(Bitboards.square(file, rank));
+				file += d[0];
+				rank += d[1];
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Returns the squares a slider attacks by walking its rays until the edge of the board or the first
+	 * blocker. Only used while building the tables
+	 */
+	private static long slowAttacks(int square, long occupied, int[][] directions) {
+		long attacks = 0;
+		for (int[] d: directions) {
+			int file = Bitboards.file(square) + d[0];
+			int rank = Bitboards.rank(square) + d[1];
+			while (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
+				long b = Bitboards.bit(Bitboards.square(file, rank));
+				attacks |= b;
+				if ((occupied & b) != 0)
+					break;
+				file += d[0];
+				rank += d[1];
+			}
+		}
+		return attacks;
+	}
+
+	/**
+	 * Searches for a magic number that maps every blocker subset of a square to a table index without
+	 * destructive collisions, and fills the square's slice of the attack table with it
+	 * @return magic number of square
+	 */
+	private static long findMagic(int square, int[][] directions, long[] masks, int[] shifts, int[] offsets, long[] table) {
+		long mask = masks[square];
+		random = SEEDS[Bitboards.rank(square)];
+		int size = 1 << Bitboards.count(mask);
+		long[] blockers = new long[size];
+		long[] attacks = new long[size];
+		// enumerate all subsets of the mask (Carry-Rippler trick)
+		long subset = 0;
+		for (int i = 0; i < size; i++) {
+			blockers[i] = subset;
+			attacks[i] = slowAttacks(square, subset, directions);
+			subset = (subset - mask) & mask;
+		}
+		int[] used = new int[size];
+		int attempt = 0;
+		while (true) {
+			long magic = nextRandom() & nextRandom() & nextRandom();
+			if (Bitboards.count((mask * magic) & 0xFF00000000000000L) < 6)
+				continue;
+			attempt++;
+			boolean failed = false;
+			for (int i = 0; i < size && !failed; i++) {
+				int index = (int) ((blockers[i] * magic) >>> shifts[square]);
+				if (used[index] != attempt) {
+					used[index] = attempt;
+					table[offsets[square] + index] = attacks[i];
+				} else if (table[offsets[square] + index] != attacks[i]) {
+					failed = true;
+				}
+			}
+			if (!failed)
+				return magic;
+		}
+	}
+
+	/**
+	 * Returns the next number of the xorshift64* generator
+	 */
+	private static long nextRandom() {
+		random ^= random >>> 12;
+		random ^= random << 25;
+		random ^= random >>> 27;
+		return random * 0x2545F4914F6CDD1DL;
+	}
+}
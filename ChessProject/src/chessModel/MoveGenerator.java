@@ -0,0 +1,321 @@
+package chessModel;
+
+/**
+ * Move generator. Moves are written as packed move codes (see Moves) into int arrays supplied by the
+ * caller, which are meant to be allocated once and reused, so generating moves allocates nothing.
+ * Pseudo-legal moves follow the movement rules of every piece but may leave the mover's king in
+ * check. Legal moves are generated directly, without playing them: the pieces giving check and the
+ * pieces pinned to their king are found first, and every move is restricted to the squares that
+ * answer the check and to the line of its pin. Castles are never generated through, out of or into
+ * an attacked square. Legal moves can be generated by kind, captures and promotions apart from quiet
+ * moves, so a search can generate the moves it tries first before the others
+ */
+public final class MoveGenerator {
+
+	/** Size of a move buffer large enough for the moves of any position */
+	public static final int MAX_MOVES = 256;
+
+	/** Kinds of moves to generate: all moves, captures and promotions, or the other moves */
+	public static final int ALL_MOVES = 0;
+	public static final int CAPTURES = 1;
+	public static final int QUIET_MOVES = 2;
+
+	/** Bitboards of the second and seventh ranks, where pawns may push two squares */
+	private static final long RANK_2 = Bitboards.RANK_1 << 8;
+	private static final long RANK_7 = Bitboards.RANK_8 >>> 8;
+
+	private MoveGenerator() {
+	}
+
+	/**
+	 * Writes the pseudo-legal moves of the side to move of a position into a move buffer
+	 * @param position position to generate moves of
+	 * @param moves buffer of at least MAX_MOVES entries
+	 * @return number of moves written
+	 */
+	public static int generate(Position position, int[] moves) {
+		return generate(position, moves, false, false, ALL_MOVES, ~0L);
+	}
+
+	/**
+	 * Writes the legal moves of the side to move of a position into a move buffer
+	 * @param position position to generate moves of
+	 * @param moves buffer of at least MAX_MOVES entries
+	 * @return number of moves written, 0 if the side to move is checkmated or stalemated
+	 */
+	public static int generateLegal(Position position, int[] moves) {
+		return generate(position, moves, true, false, ALL_MOVES, ~0L);
+	}
+
+	/**
+	 * Writes the legal moves of a kind of the side to move of a position into a move buffer. Captures
+	 * include en passant and all promotions, quiet moves include castles
+	 * @param position position to generate moves of
+	 * @param moves buffer of at least MAX_MOVES entries
+	 * @param kind ALL_MOVES, CAPTURES or QUIET_MOVES
+	 * @return number of moves written
+	 */
+	public static int generateLegal(Position position, int[] moves, int kind) {
+		if (kind < ALL_MOVES || kind > QUIET_MOVES)
+			throw new IllegalArgumentException("Error: unknown kind of moves " + kind);
+		return generate(position, moves, true, false, kind, ~0L);
+	}
+
+	/**
+	 * Returns true if a move is legal in a position. Only the moves of the piece on the move's from
+	 * square are generated, so a move kept from another position, e.g. a transposition table move, is
+	 * checked without generating all moves
+	 * @param position position to check
+	 * @param move packed move code
+	 * @param moves scratch buffer of at least MAX_MOVES entries
+	 * @return true if the move is legal, false otherwise
+	 */
+	public static boolean isLegal(Position position, int move, int[] moves) {
+		int from = Moves.from(move);
+		if (move == Moves.NONE || !position.isOccupiedBy(from, position.getSideToMove()))
+			return false;
+		int count = generate(position, moves, true, false, ALL_MOVES, Bitboards.bit(from));
+		for (int i = 0; i < count; i++) {
+			if (moves[i] == move)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the side to move of a position has a legal move. Generation stops after the first
+	 * group of moves (king moves, pawn moves, then the moves of each piece type) that holds a legal move,
+	 * so positions with moves are answered without generating all of them
+	 * @param position position to check
+	 * @param moves scratch buffer of at least MAX_MOVES entries
+	 * @return true if a legal move exists, false if checkmated or stalemated
+	 */
+	public static boolean hasLegalMove(Position position, int[] moves) {
+		return generate(position, moves, true, true, ALL_MOVES, ~0L) > 0;
+	}
+
+	/**
+	 * Writes the pseudo-legal or legal moves of a kind of the side to move of a position into a move
+	 * buffer, for the pieces on the sources squares only, returning early with the first group of moves
+	 * found if firstOnly is set
+	 * @return number of moves written
+	 */
+	private static int generate(Position position, int[] moves, boolean legal, boolean firstOnly, int kind, long sources) {
+		int us = position.getSideToMove();
+		int them = 1 - us;
+		long own = position.getOccupancy(us);
+		long enemies = position.getOccupancy(them);
+		long occupied = position.getOccupied();
+		int king = position.getKingSquare(us);
+		long kindTargets = kind == CAPTURES ? enemies : kind == QUIET_MOVES ? ~enemies : ~0L;
+
+		// king moves, to squares that are not attacked once the king has left its square
+		int count = 0;
+		long targets = Bitboards.isSet(sources, king) ? Attacks.king(king) & ~own & kindTargets : 0;
+		while (targets != 0) {
+			int to = Bitboards.lowestSquare(targets);
+			if (!legal || position.attackersTo(to, them, occupied ^ Bitboards.bit(king)) == 0)
+				moves[count++] = Moves.encode(king, to, Bitboards.isSet(enemies, to) ? Moves.CAPTURE : Moves.QUIET);
+			targets &= targets - 1;
+		}
+		if (firstOnly && count > 0)
+			return count;
+
+		// squares other pieces may move to: anywhere, or when in check, onto the checker or between it
+		// and the king. In double check only the king can move
+		long evasions = ~0L;
+		long pinned = 0;
+		if (legal) {
+			long checkers = position.checkers();
+			if (checkers != 0) {
+				if ((checkers & checkers - 1) != 0)
+					return count;
+				evasions = checkers | Attacks.between(king, Bitboards.lowestSquare(checkers));
+			}
+			pinned = pinnedPieces(position, us, king);
+		}
+
+		count = pawnMoves(position, us, enemies, occupied, king, evasions, pinned, legal, kind, sources, moves, count);
+		for (int type = Position.KNIGHT; type <= Position.QUEEN && !(firstOnly && count > 0); type++) {
+			long pieces = position.getPieces(us, type) & sources;
+			while (pieces != 0) {
+				int from = Bitboards.lowestSquare(pieces);
+				targets = attacks(type, from, occupied) & ~own & evasions & kindTargets;
+				if (Bitboards.isSet(pinned, from))
+					targets &= Attacks.line(king, from);
+				count = addMoves(from, targets, enemies, moves, count);
+				pieces &= pieces - 1;
+			}
+		}
+		if (kind == CAPTURES || !Bitboards.isSet(sources, king))
+			return count;
+		return castlingMoves(position, us, moves, count);
+	}
+
+	/**
+	 * Returns the pieces of a color that are pinned to their king: its only blocker against an enemy
+	 * slider on the same line
+	 */
+	private static long pinnedPieces(Position position, int us, int king) {
+		int them = 1 - us;
+		long queens = position.getPieces(them, Position.QUEEN);
+		long snipers = (Attacks.bishop(king, 0) & (position.getPieces(them, Position.BISHOP) | queens))
+				| (Attacks.rook(king, 0) & (position.getPieces(them, Position.ROOK) | queens));
+		long pinned = 0;
+		while (snipers != 0) {
+			long blockers = Attacks.between(king, Bitboards.lowestSquare(snipers)) & position.getOccupied();
+			if (blockers != 0 && (blockers & blockers - 1) == 0)
+				pinned |= blockers & position.getOccupancy(us);
+			snipers &= snipers - 1;
+		}
+		return pinned;
+	}
+
+	/**
+	 * Returns the squares attacked by a knight, bishop, rook or queen
+	 */
+	private static long attacks(int type, int square, long occupied) {
+		switch (type) {
+		case Position.KNIGHT: return Attacks.knight(square);
+		case Position.BISHOP: return Attacks.bishop(square, occupied);
+		case Position.ROOK: return Attacks.rook(square, occupied);
+		default: return Attacks.queen(square, occupied);
+		}
+	}
+
+	/**
+	 * Adds a move from a square to each target square, flagged as a capture if an enemy piece stands there
+	 * @return new number of moves in buffer
+	 */
+	private static int addMoves(int from, long targets, long enemies, int[] moves, int count) {
+		while (targets != 0) {
+			int to = Bitboards.lowestSquare(targets);
+			moves[count++] = Moves.encode(from, to, Bitboards.isSet(enemies, to) ? Moves.CAPTURE : Moves.QUIET);
+			targets &= targets - 1;
+		}
+		return count;
+	}
+
+	/**
+	 * Adds the pushes, double pushes, captures, en passant captures and promotions of every pawn on the
+	 * sources squares, limited to the kind of moves, the evasion squares and the pawn's pin line
+	 * @return new number of moves in buffer
+	 */
+	private static int pawnMoves(Position position, int us, long enemies, long occupied, int king, long evasions,
+			long pinned, boolean legal, int kind, long sources, int[] moves, int count) {
+		int forward = us == Position.WHITE ? 8 : -8;
+		long startRank = us == Position.WHITE ? RANK_2 : RANK_7;
+		long lastRank = us == Position.WHITE ? Bitboards.RANK_8 : Bitboards.RANK_1;
+		int enPassant = position.getEnPassantSquare();
+		boolean captures = kind != QUIET_MOVES;
+		boolean quiets = kind != CAPTURES;
+		long pawns = position.getPieces(us, Position.PAWN) & sources;
+		while (pawns != 0) {
+			int from = Bitboards.lowestSquare(pawns);
+			long allowed = Bitboards.isSet(pinned, from) ? evasions & Attacks.line(king, from) : evasions;
+			int to = from + forward;
+			if (!Bitboards.isSet(occupied, to)) {
+				if (Bitboards.isSet(allowed, to)) {
+					if (Bitboards.isSet(lastRank, to)) {
+						if (captures)
+							count = addPromotions(from, to, false, moves, count);
+					} else if (quiets) {
+						moves[count++] = Moves.encode(from, to, Moves.QUIET);
+					}
+				}
+				if (quiets && Bitboards.isSet(startRank, from) && !Bitboards.isSet(occupied, to + forward)
+						&& Bitboards.isSet(allowed, to + forward))
+					moves[count++] = Moves.encode(from, to + forward, Moves.DOUBLE_PUSH);
+			}
+			if (captures) {
+				long targets = Attacks.pawn(us, from) & enemies & allowed;
+				while (targets != 0) {
+					to = Bitboards.lowestSquare(targets);
+					if (Bitboards.isSet(lastRank, to))
+						count = addPromotions(from, to, true, moves, count);
+					else
+						moves[count++] = Moves.encode(from, to, Moves.CAPTURE);
+					targets &= targets - 1;
+				}
+				if (enPassant != Position.NO_SQUARE && Bitboards.isSet(Attacks.pawn(us, from), enPassant)
+						&& (!legal || enPassantLegal(position, us, king, from, enPassant)))
+					moves[count++] = Moves.encode(from, enPassant, Moves.EN_PASSANT);
+			}
+			pawns &= pawns - 1;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns true if an en passant capture does not leave the king in check. En passant removes two pawns
+	 * from a line at once, so it is checked against the occupancy after the capture instead of masks
+	 */
+	private static boolean enPassantLegal(Position position, int us, int king, int from, int to) {
+		int them = 1 - us;
+		long captured = Bitboards.bit(us == Position.WHITE ? to - 8 : to + 8);
+		long occupied = (position.getOccupied() ^ Bitboards.bit(from) ^ captured) | Bitboards.bit(to);
+		return (position.attackersTo(king, them, occupied) & ~captured) == 0;
+	}
+
+	/**
+	 * Adds the four promotions of a pawn move, queen first
+	 * @return new number of moves in buffer
+	 */
+	private static int addPromotions(int from, int to, boolean capture, int[] moves, int count) {
+		for (int type = Position.QUEEN; type >= Position.KNIGHT; type--) {
+			moves[count++] = Moves.promotion(from, to, type, capture);
+		}
+		return count;
+	}
+
+	/**
+	 * Adds the castles the side to move still has the right to, whose squares between king and rook are
+	 * empty and whose king squares are not attacked
+	 * @return new number of moves in buffer
+	 */
+	private static int castlingMoves(Position position, int us, int[] moves, int count) {
+		int kingside = us == Position.WHITE ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+		int queenside = us == Position.WHITE ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+		if ((position.getCastlingRights() & (kingside | queenside)) == 0)
+			return count;
+		int king = us == Position.WHITE ? 4 : 60;
+		if (position.isAttacked(king, 1 - us))
+			return count;
+		if (castlePathFree(position, kingside))
+			moves[count++] = Moves.encode(king, king + 2, Moves.KING_CASTLE);
+		if (castlePathFree(position, queenside))
+			moves[count++] = Moves.encode(king, king - 2, Moves.QUEEN_CASTLE);
+		return count;
+	}
+
+	/**
+	 * Returns true if a castle is legal in a position: the right is still held, the king is not in check,
+	 * the squares between king and rook are empty and the squares the king crosses are not attacked.
+	 * Only the position's castling rights, occupancy and attack tables are read, so the answer does not
+	 * depend on move history or board orientation
+	 * @param position position to check
+	 * @param right one castling right flag, e.g. Position.WHITE_KINGSIDE
+	 * @return true if the castle can be played, false otherwise
+	 */
+	public static boolean canCastle(Position position, int right) {
+		int us = (right & (Position.WHITE_KINGSIDE | Position.WHITE_QUEENSIDE)) != 0 ? Position.WHITE : Position.BLACK;
+		return castlePathFree(position, right) && !position.isAttacked(us == Position.WHITE ? 4 : 60, 1 - us);
+	}
+
+	/**
+	 * Returns true if a held castling right has empty squares between king and rook and no attacked square
+	 * on the king's way, not counting the king's own square
+	 */
+	private static boolean castlePathFree(Position position, int right) {
+		if ((position.getCastlingRights() & right) == 0)
+			return false;
+		boolean white = (right & (Position.WHITE_KINGSIDE | Position.WHITE_QUEENSIDE)) != 0;
+		boolean kingside = (right & (Position.WHITE_KINGSIDE | Position.BLACK_KINGSIDE)) != 0;
+		int king = white ? 4 : 60;
+		int them = white ? Position.BLACK : Position.WHITE;
+		int step = kingside ? 1 : -1;
+		long between = Attacks.between(king, kingside ? king + 3 : king - 4);
+		return (position.getOccupied() & between) == 0 && !position.isAttacked(king + step, them)
+				&& !position.isAttacked(king + 2 * step, them);
+	}
+}
@@ -0,0 +1,141 @@
+package chessModel;
+
+/**
+ * Static helpers for moves packed into the low 16 bits of an int: 6 bits for the origin square, 6 bits
+ * for the destination square and 4 flag bits. The flags tell quiet moves, double pawn pushes, castles,
+ * captures, en passant captures and promotions apart, so playing a move never has to inspect the board
+ * to find out what kind of move it is. Bit 2 of the flags marks captures and bit 3 marks promotions
+ */
+public final class Moves {
+
+	/** Move code used for "no move" */
+	public static final int NONE = 0;
+
+	/** Move flags */
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PUSH = 1;
+	public static final int KING_CASTLE = 2;
+	public static final int QUEEN_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int KNIGHT_PROMOTION = 8;
+	public static final int BISHOP_PROMOTION = 9;
+	public static final int ROOK_PROMOTION = 10;
+	public static final int QUEEN_PROMOTION = 11;
+	public static final int KNIGHT_PROMOTION_CAPTURE = 12;
+	public static final int BISHOP_PROMOTION_CAPTURE = 13;
+	public static final int ROOK_PROMOTION_CAPTURE = 14;
+	public static final int QUEEN_PROMOTION_CAPTURE = 15;
+
+	/** Letters of promotion piece types in UCI notation, indexed by piece type */
+	private static final char[] PROMOTION_LETTERS = {' ', 'n', 'b', 'r', 'q', ' '};
+
+	private Moves() {
+	}
+
+	/**
+	 * Returns the move code of a move
+	 * @param from origin square (0-63)
+	 * @param to destination square (0-63)
+	 * @param flags move flags
+	 * @return packed move
+	 */
+	public static int encode(int from, int to, int flags) {
+		return from | to << 6 | flags << 12;
+	}
+
+	/**
+	 * Returns the move code of a promotion
+	 * @param from origin square (0-63)
+	 * @param to destination square (0-63)
+	 * @param type piece type promoted to (KNIGHT, BISHOP, ROOK or QUEEN)
+	 * @param capture true if the promotion captures a piece
+	 * @return packed move
+	 */
+	public static int promotion(int from, int to, int type, boolean capture) {
+		return encode(from, to, (capture ? KNIGHT_PROMOTION_CAPTURE : KNIGHT_PROMOTION) + type - Position.KNIGHT);
+	}
+
+	/**
+	 * Returns the origin square of a move
+	 * @param move packed move
+	 * @return square (0-63)
+	 */
+	public static int from(int move) {
+		return move & 0x3F;
+	}
+
+	/**
+	 * Returns the destination square of a move
+	 * @param move packed move
+	 * @return square (0-63)
+	 */
+	public static int to(int move) {
+		return (move >>> 6) & 0x3F;
+	}
+
+	/**
+	 * Returns the flags of a move
+	 * @param move packed move
+	 * @return move flags
+	 */
+	public static int flags(int move) {
+		return (move >>> 12) & 0xF;
+	}
+
+	/**
+	 * Returns true if a move captures a piece, including en passant and promotion captures
+	 * @param move packed move
+	 * @return true if capture, false otherwise
+	 */
+	public static boolean isCapture(int move) {
+		return (move & CAPTURE << 12) != 0;
+	}
+
+	/**
+	 * Returns true if a move promotes a pawn
+	 * @param move packed move
+	 * @return true if promotion, false otherwise
+	 */
+	public static boolean isPromotion(int move) {
+		return (move & KNIGHT_PROMOTION << 12) != 0;
+	}
+
+	/**
+	 * Returns true if a move is a castle
+	 * @param move packed move
+	 * @return true if castle, false otherwise
+	 */
+	public static boolean isCastle(int move) {
+		int flags = flags(move);
+		return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+	}
+
+	/**
+	 * Returns true if a move is an en passant capture
+	 * @param move packed move
+	 * @return true if en passant, false otherwise
+	 */
+	public static boolean isEnPassant(int move) {
+		return flags(move) == EN_PASSANT;
+	}
+
+	/**
+	 * Returns the piece type a move promotes to
+	 * @param move packed move
+	 * @return KNIGHT, BISHOP, ROOK or QUEEN, or Position.NO_PIECE if the move is not a promotion
+	 */
+	public static int promotionType(int move) {
+		return isPromotion(move) ? Position.KNIGHT + (flags(move) & 3) : Position.NO_PIECE;
+	}
+
+	/**
+	 * Returns a move in UCI notation, e.g. "e2e4" or "e7e8q"
+	 * @param move packed move
+	 * @return move string
+	 */
+	public static String toString(int move) {
+		String s = Bitboards.name(from(move)) + Bitboards.name(to(move));
+		return isPromotion(move) ? s + PROMOTION_LETTERS[promotionType(move)] : s;
+	}
+}
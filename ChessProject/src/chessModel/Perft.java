@@ -0,0 +1,207 @@
+package chessModel;
+
+import java.util.Arrays;
+
+/**
+ * Headless perft tool: counts the leaf nodes of the legal move tree of a position to a fixed depth.
+ * Counts are compared against published reference values to check move generation (castling, en
+ * passant, promotions, pins and checks), and timed to benchmark move generation speed.
+ *
+ * Usage:
+ *   Perft                       runs the reference suite and reports any wrong count
+ *   Perft perft depth [fen]     prints the node count and speed of every depth up to depth
+ *   Perft divide depth [fen]    prints the node count below every root move
+ * The start position is used when no FEN is given
+ */
+public final class Perft {
+
+	/** Deepest supported perft depth */
+	private static final int MAX_DEPTH = 16;
+
+	/** Names of the reference positions */
+	private static final String[] SUITE_NAMES = {
+			"start position",
+			"kiwipete",
+			"rook endgame",
+			"promotions and castling rights",
+			"discovered checks",
+			"middlegame",
+			"illegal en passant move #1",
+			"illegal en passant move #2",
+			"en passant capture checks opponent",
+			"short castling gives check",
+			"long castling gives check",
+			"castling rights",
+			"promote out of check",
+			"discovered check",
+			"promote to give check",
+			"under promote to give check",
+			"self stalemate",
+			"stalemate and checkmate",
+			"double check"
+	};
+
+	/** FEN strings of the reference positions */
+	private static final String[] SUITE_FENS = {
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+			"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+			"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+			"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+			"3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1",
+			"8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1",
+			"8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1",
+			"5k2/8/8/8/8/8/8/4K2R w K - 0 1",
+			"3k4/8/8/8/8/8/8/R3K3 w Q - 0 1",
+			"r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1",
+			"2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1",
+			"8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1",
+			"4k3/1P6/8/8/8/8/K7/8 w - - 0 1",
+			"8/P1k5/K7/8/8/8/8/8 w - - 0 1",
+			"K1k5/8/P7/8/8/8/8/8 w - - 0 1",
+			"8/k1P5/8/1K6/8/8/8/8 w - - 0 1",
+			"8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1"
+	};
+
+	/** Depths the reference positions are counted to */
+	private static final int[] SUITE_DEPTHS = {5, 4, 5, 4, 4, 4, 6, 6, 6, 6, 6, 4, 6, 5, 6, 6, 6, 7, 4};
+
+	/** Published node counts of the reference positions at their depth */
+	private static final long[] SUITE_NODES = {
+			4865609, 4085603, 674624, 422333, 2103487, 3894594, 1134888, 1015133, 1440467, 661072,
+			803711, 1274206, 3821001, 1004658, 217342, 92683, 2217, 567584, 23527
+	};
+
+	/** Position being counted */
+	private final Position position = new Position();
+	/** Reusable move buffers, one per remaining depth */
+	private final int[][] moves = new int[MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+
+	/**
+	 * Constructor for a perft counter of a position
+	 * @param fen FEN string of the position
+	 */
+	public Perft(String fen) {
+		position.setFen(fen);
+	}
+
+	/**
+	 * Returns the number of leaf nodes of the legal move tree below the position
+	 * @param depth depth of the tree in half moves (0-MAX_DEPTH)
+	 * @return node count
+	 */
+	public long perft(int depth) {
+		if (depth < 0 || depth > MAX_DEPTH)
+			throw new IllegalArgumentException("Error: perft depth must be between 0 and " + MAX_DEPTH);
+		return count(depth);
+	}
+
+	/**
+	 * Counts the leaf nodes below the position, counting the moves of the last level without playing them
+	 */
+	private long count(int depth) {
+		if (depth == 0)
+			return 1;
+		int[] buffer = moves[depth];
+		int count = MoveGenerator.generateLegal(position, buffer);
+		if (depth == 1)
+			return count;
+		long nodes = 0;
+		for (int i = 0; i < count; i++) {
+			position.makeMove(buffer[i]);
+			nodes += count(depth - 1);
+			position.unmakeMove();
+		}
+		return nodes;
+	}
+
+	/**
+	 * Prints the number of leaf nodes below each root move, followed by the total. Comparing the
+	 * breakdown with another move generator's narrows a wrong count down to a single move
+	 * @param depth depth of the tree in half moves (1-MAX_DEPTH)
+	 * @return total node count
+	 */
+	public long divide(int depth) {
+		if (depth < 1 || depth > MAX_DEPTH)
+			throw new IllegalArgumentException("Error: divide depth must be between 1 and " + MAX_DEPTH);
+		int[] buffer = moves[depth];
+		int count = MoveGenerator.generateLegal(position, buffer);
+		long total = 0;
+		for (int i = 0; i < count; i++) {
+			position.makeMove(buffer[i]);
+			long nodes = count(depth - 1);
+			position.unmakeMove();
+			System.out.println(Moves.toString(buffer[i]) + ": " + nodes);
+			total += nodes;
+		}
+		System.out.println();
+		System.out.println("Moves: " + count);
+		System.out.println("Nodes: " + total);
+		return total;
+	}
+
+	/**
+	 * Counts every reference position to its depth, printing each result with its speed
+	 * @return true if every count matched, false otherwise
+	 */
+	public static boolean runSuite() {
+		boolean passed = true;
+		long totalNodes = 0;
+		long totalTime = 0;
+		for (int i = 0; i < SUITE_FENS.length; i++) {
+			long start = System.nanoTime();
+			long nodes = new Perft(SUITE_FENS[i]).perft(SUITE_DEPTHS[i]);
+			long elapsed = System.nanoTime() - start;
+			totalNodes += nodes;
+			totalTime += elapsed;
+			boolean correct = nodes == SUITE_NODES[i];
+			passed &= correct;
+			System.out.println((correct ? "ok      " : "FAILED  ") + SUITE_NAMES[i] + ", depth " + SUITE_DEPTHS[i] + ": "
+					+ nodes + " nodes" + (correct ? "" : ", expected " + SUITE_NODES[i] + " (" + SUITE_FENS[i] + ")"));
+		}
+		System.out.println();
+		System.out.println((passed ? "All counts correct. " : "Wrong counts found. ") + totalNodes + " nodes in "
+				+ totalTime / 1000000 + " ms (" + nodesPerSecond(totalNodes, totalTime) + " nodes/s)");
+		return passed;
+	}
+
+	/**
+	 * Returns a speed in nodes per second
+	 */
+	private static long nodesPerSecond(long nodes, long nanos) {
+		return nanos == 0 ? 0 : nodes * 1000000000L / nanos;
+	}
+
+	/**
+	 * Runs the reference suite, a perft or a divide depending on the arguments
+	 * @param args nothing, or "perft" or "divide", followed by a depth and an optional FEN
+	 */
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.exit(runSuite() ? 0 : 1);
+		}
+		if (args.length < 2 || !(args[0].equals("perft") || args[0].equals("divide"))) {
+			System.out.println("Usage: Perft [perft|divide depth [fen]]");
+			System.exit(2);
+		}
+		int depth = Integer.parseInt(args[1]);
+		String fen = Position.START_FEN;
+		if (args.length > 2)
+			fen = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
+		Perft perft = new Perft(fen);
+		if (args[0].equals("divide")) {
+			perft.divide(depth);
+			return;
+		}
+		// builds the attack tables, so their set up time is not counted as search time
+		perft.perft(1);
+		for (int d = 1; d <= depth; d++) {
+			long start = System.nanoTime();
+			long nodes = perft.perft(d);
+			long elapsed = System.nanoTime() - start;
+			System.out.println("depth " + d + ": " + nodes + " nodes, " + elapsed / 1000000 + " ms, "
+					+ nodesPerSecond(nodes, elapsed) + " nodes/s");
+		}
+	}
+}
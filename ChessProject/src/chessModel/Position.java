@@ -0,0 +1,675 @@
+package chessModel;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of the pieces on a chess board. Every piece type of every color is kept in
+ * its own 64-bit board, alongside occupancy masks for each color and for the whole board, so occupancy
+ * and ownership checks are single bit operations. A square-indexed mailbox mirrors the bitboards for
+ * constant-time piece lookups.
+ * Moves are played with makeMove and taken back with unmakeMove. The state a move destroys is packed
+ * into a preallocated array of longs, so making and unmaking moves allocates nothing. A Zobrist key
+ * identifying the position is updated alongside every change
+ */
+public class Position {
+
+	/** Color index of white pieces */
+	public static final int WHITE = 0;
+	/** Color index of black pieces */
+	public static final int BLACK = 1;
+
+	/** Piece type indexes */
+	public static final int PAWN = 0;
+	public static final int KNIGHT = 1;
+	public static final int BISHOP = 2;
+	public static final int ROOK = 3;
+	public static final int QUEEN = 4;
+	public static final int KING = 5;
+
+	/** Piece code returned for empty squares */
+	public static final int NO_PIECE = -1;
+	/** En passant square value when no en passant capture is possible */
+	public static final int NO_SQUARE = 64;
+
+	/** Forsyth-Edwards notation of the standard starting position */
+	public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+	/** Letters of the piece codes in Forsyth-Edwards notation, white pieces in upper case */
+	private static final String PIECE_LETTERS = "PNBRQKpnbrqk";
+
+	/** Castling right flags */
+	public static final int WHITE_KINGSIDE = 1;
+	public static final int WHITE_QUEENSIDE = 2;
+	public static final int BLACK_KINGSIDE = 4;
+	public static final int BLACK_QUEENSIDE = 8;
+	public static final int ALL_CASTLING = 15;
+
+	/** Castling rights kept when a piece moves from or to each square. Moving a king or rook, or capturing
+	 * a rook on its starting square, clears the rights that depend on it */
+	private static final int[] CASTLING_MASKS = new int[64];
+
+	/** Bit layout of an undo stack entry, above the 16 bits of the move code */
+	private static final int CAPTURED_SHIFT = 16;
+	private static final int CASTLING_SHIFT = 20;
+	private static final int EN_PASSANT_SHIFT = 24;
+	private static final int HALFMOVE_SHIFT = 31;
+
+	static {
+		Arrays.fill(CASTLING_MASKS, ALL_CASTLING);
+		CASTLING_MASKS[Bitboards.square(4, 0)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+		CASTLING_MASKS[Bitboards.square(7, 0)] &= ~WHITE_KINGSIDE;
+		CASTLING_MASKS[Bitboards.square(0, 0)] &= ~WHITE_QUEENSIDE;
+		CASTLING_MASKS[Bitboards.square(4, 7)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+		CASTLING_MASKS[Bitboards.square(7, 7)] &= ~BLACK_KINGSIDE;
+		CASTLING_MASKS[Bitboards.square(0, 7)] &= ~BLACK_QUEENSIDE;
+	}
+
+	/** Bitboards of each piece, indexed by piece code (color * 6 + type) */
+	private long[] pieces = new long[12];
+	/** Occupancy bitboards of each color */
+	private long[] colors = new long[2];
+	/** Occupancy bitboard of both colors */
+	private long occupied;
+	/** Piece code of each square, NO_PIECE for empty squares */
+	private int[] board = new int[64];
+	/** Square of each color's king, NO_SQUARE while it has none */
+	private int[] kingSquares = {NO_SQUARE, NO_SQUARE};
+
+	/** Color to move, WHITE or BLACK */
+	private int sideToMove = WHITE;
+	/** Castling right flags still available */
+	private int castlingRights;
+	/** Square a pawn can capture en passant on, NO_SQUARE if none */
+	private int enPassantSquare = NO_SQUARE;
+	/** Number of half moves since the last capture or pawn move */
+	private int halfmoveClock;
+	/** Number of the current full move, starting at 1 and incremented after black moves */
+	private int fullmoveNumber = 1;
+	/** Zobrist key of the position */
+	private long key;
+
+	/** Moves played and the state they destroyed, one packed entry per move */
+	private long[] undoStack = new long[256];
+	/** Zobrist keys of the positions before each move on the undo stack, the game's key history */
+	private long[] keyStack = new long[256];
+	/** Number of entries on the undo stack */
+	private int undoCount;
+
+	/**
+	 * Constructor for an empty board with white to move
+	 */
+	public Position() {
+		Arrays.fill(board, NO_PIECE);
+	}
+
+	/**
+	 * Constructor for a copy of a position, including the moves on its undo stack, so the copy detects
+	 * repetitions of the original's earlier positions and can be changed from another thread
+	 * @param other position to copy
+	 */
+	public Position(Position other) {
+		pieces = other.pieces.clone();
+		colors = other.colors.clone();
+		occupied = other.occupied;
+		board = other.board.clone();
+		kingSquares = other.kingSquares.clone();
+		sideToMove = other.sideToMove;
+		castlingRights = other.castlingRights;
+		enPassantSquare = other.enPassantSquare;
+		halfmoveClock = other.halfmoveClock;
+		fullmoveNumber = other.fullmoveNumber;
+		key = other.key;
+		undoStack = other.undoStack.clone();
+		keyStack = other.keyStack.clone();
+		undoCount = other.undoCount;
+	}
+
+	/**
+	 * Returns the piece code of a color and piece type
+	 * @param color WHITE or BLACK
+	 * @param type piece type index
+	 * @return piece code (0-11)
+	 */
+	public static int pieceCode(int color, int type) {
+		return color * 6 + type;
+	}
+
+	/**
+	 * Returns the color of a piece code
+	 * @param piece piece code (0-11)
+	 * @return WHITE or BLACK
+	 */
+	public static int colorOf(int piece) {
+		return piece < 6 ? WHITE : BLACK;
+	}
+
+	/**
+	 * Returns the piece type of a piece code
+	 * @param piece piece code (0-11)
+	 * @return piece type index
+	 */
+	public static int typeOf(int piece) {
+		return piece < 6 ? piece : piece - 6;
+	}
+
+	/**
+	 * Places a piece on an empty square
+	 * @param color color of piece
+	 * @param type type of piece
+	 * @param square square to place piece on
+	 */
+	public void putPiece(int color, int type, int square) {
+		long b = Bitboards.bit(square);
+		pieces[pieceCode(color, type)] |= b;
+		colors[color] |= b;
+		occupied |= b;
+		board[square] = pieceCode(color, type);
+		key ^= Zobrist.PIECES[pieceCode(color, type)][square];
+		if (type == KING)
+			kingSquares[color] = square;
+	}
+
+	/**
+	 * Removes whichever piece stands on a square, if any
+	 * @param square square to clear
+	 */
+	public void removePiece(int square) {
+		int piece = board[square];
+		if (piece == NO_PIECE)
+			return;
+		long mask = ~Bitboards.bit(square);
+		pieces[piece] &= mask;
+		colors[colorOf(piece)] &= mask;
+		occupied &= mask;
+		board[square] = NO_PIECE;
+		key ^= Zobrist.PIECES[piece][square];
+		if (typeOf(piece) == KING)
+			kingSquares[colorOf(piece)] = NO_SQUARE;
+	}
+
+	/**
+	 * Moves the piece on square from to square to, removing any piece standing on square to
+	 * @param from square of piece to move
+	 * @param to square to move piece to
+	 */
+	public void movePiece(int from, int to) {
+		int piece = board[from];
+		if (piece == NO_PIECE)
+			return;
+		removePiece(to);
+		removePiece(from);
+		putPiece(colorOf(piece), typeOf(piece), to);
+	}
+
+	/**
+	 * Removes all pieces from the board and resets the game state to white to move, with no castling
+	 * rights, no en passant square and no moves played
+	 */
+	public void clear() {
+		for (int i = 0; i < pieces.length; i++) {
+			pieces[i] = 0;
+		}
+		colors[WHITE] = 0;
+		colors[BLACK] = 0;
+		occupied = 0;
+		Arrays.fill(board, NO_PIECE);
+		kingSquares[WHITE] = NO_SQUARE;
+		kingSquares[BLACK] = NO_SQUARE;
+		sideToMove = WHITE;
+		castlingRights = 0;
+		enPassantSquare = NO_SQUARE;
+		halfmoveClock = 0;
+		fullmoveNumber = 1;
+		undoCount = 0;
+		key = 0;
+	}
+
+	/**
+	 * Sets up the position described by a Forsyth-Edwards notation string. The halfmove clock and fullmove
+	 * number fields are optional
+	 * @param fen FEN string, e.g. START_FEN
+	 */
+	public void setFen(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+		if (fields.length < 4)
+			throw new IllegalArgumentException("Error: invalid FEN " + fen);
+		clear();
+		int file = 0;
+		int rank = 7;
+		for (char c: fields[0].toCharArray()) {
+			int piece = PIECE_LETTERS.indexOf(c);
+			if (c == '/') {
+				file = 0;
+				rank--;
+			} else if (c >= '1' && c <= '8') {
+				file += c - '0';
+			} else if (piece >= 0 && file <= 7 && rank >= 0) {
+				putPiece(colorOf(piece), typeOf(piece), Bitboards.square(file++, rank));
+			} else {
+				throw new IllegalArgumentException("Error: invalid FEN " + fen);
+			}
+		}
+		if (Bitboards.count(getPieces(WHITE, KING)) != 1 || Bitboards.count(getPieces(BLACK, KING)) != 1)
+			throw new IllegalArgumentException("Error: FEN needs one king of each color " + fen);
+		sideToMove = fields[1].equals("b") ? BLACK : WHITE;
+		for (char c: fields[2].toCharArray()) {
+			switch (c) {
+			case 'K': castlingRights |= WHITE_KINGSIDE; break;
+			case 'Q': castlingRights |= WHITE_QUEENSIDE; break;
+			case 'k': castlingRights |= BLACK_KINGSIDE; break;
+			case 'q': castlingRights |= BLACK_QUEENSIDE; break;
+			default: break;
+			}
+		}
+		// kept only if a pawn can capture on it, as in makeMove, so the key matches the position reached by moves
+		enPassantSquare = fields[3].equals("-") ? NO_SQUARE : usableEnPassant(Bitboards.parseSquare(fields[3]), sideToMove);
+		halfmoveClock = fields.length > 4 ? Integer.parseInt(fields[4]) : 0;
+		fullmoveNumber = fields.length > 5 ? Integer.parseInt(fields[5]) : 1;
+		key = computeKey();
+	}
+
+	/**
+	 * Returns the Forsyth-Edwards notation string of the position
+	 * @return FEN string
+	 */
+	public String toFen() {
+		StringBuilder fen = new StringBuilder();
+		for (int rank = 7; rank >= 0; rank--) {
+			int empty = 0;
+			for (int file = 0; file < 8; file++) {
+				int piece = board[Bitboards.square(file, rank)];
+				if (piece == NO_PIECE) {
+					empty++;
+					continue;
+				}
+				if (empty > 0)
+					fen.append(empty);
+				empty = 0;
+				fen.append(PIECE_LETTERS.charAt(piece));
+			}
+			if (empty > 0)
+				fen.append(empty);
+			if (rank > 0)
+				fen.append('/');
+		}
+		fen.append(sideToMove == WHITE ? " w " : " b ");
+		if (castlingRights == 0)
+			fen.append('-');
+		if ((castlingRights & WHITE_KINGSIDE) != 0)
+			fen.append('K');
+		if ((castlingRights & WHITE_QUEENSIDE) != 0)
+			fen.append('Q');
+		if ((castlingRights & BLACK_KINGSIDE) != 0)
+			fen.append('k');
+		if ((castlingRights & BLACK_QUEENSIDE) != 0)
+			fen.append('q');
+		fen.append(' ').append(enPassantSquare == NO_SQUARE ? "-" : Bitboards.name(enPassantSquare));
+		return fen.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber).toString();
+	}
+
+	/**
+	 * Plays a move, saving the state needed to take it back on the undo stack. The move is not checked
+	 * for legality
+	 * @param move packed move code (see Moves)
+	 */
+	public void makeMove(int move) {
+		int from = Moves.from(move);
+		int to = Moves.to(move);
+		int flags = Moves.flags(move);
+		int piece = board[from];
+		int color = colorOf(piece);
+		int type = typeOf(piece);
+		int capturedSquare = flags == Moves.EN_PASSANT ? (color == WHITE ? to - 8 : to + 8) : to;
+		int captured = board[capturedSquare];
+
+		if (undoCount == undoStack.length) {
+			undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+			keyStack = Arrays.copyOf(keyStack, undoCount * 2);
+		}
+		keyStack[undoCount] = key;
+		undoStack[undoCount++] = move | (long) (captured + 1) << CAPTURED_SHIFT | (long) castlingRights << CASTLING_SHIFT
+				| (long) enPassantSquare << EN_PASSANT_SHIFT | (long) halfmoveClock << HALFMOVE_SHIFT;
+
+		removePiece(capturedSquare);
+		removePiece(from);
+		putPiece(color, Moves.isPromotion(move) ? Moves.promotionType(move) : type, to);
+		if (Moves.isCastle(move))
+			movePiece(castlingRookSquare(from, to), (from + to) / 2);
+
+		key ^= enPassantKey(enPassantSquare) ^ Zobrist.CASTLING[castlingRights] ^ Zobrist.SIDE;
+		// the en passant square is only kept when an enemy pawn can capture on it, so positions that
+		// only differ by an unusable en passant square share a key
+		enPassantSquare = flags == Moves.DOUBLE_PUSH ? usableEnPassant((from + to) / 2, 1 - color) : NO_SQUARE;
+		castlingRights &= CASTLING_MASKS[from] & CASTLING_MASKS[to];
+		key ^= enPassantKey(enPassantSquare) ^ Zobrist.CASTLING[castlingRights];
+		halfmoveClock = type == PAWN || captured != NO_PIECE ? 0 : halfmoveClock + 1;
+		if (color == BLACK)
+			fullmoveNumber++;
+		sideToMove = 1 - color;
+	}
+
+	/**
+	 * Takes back the last move played with makeMove, restoring the position exactly as it was before it
+	 */
+	public void unmakeMove() {
+		long entry = undoStack[--undoCount];
+		int move = (int) entry & 0xFFFF;
+		int from = Moves.from(move);
+		int to = Moves.to(move);
+		int captured = (int) (entry >>> CAPTURED_SHIFT & 0xF) - 1;
+		castlingRights = (int) (entry >>> CASTLING_SHIFT) & 0xF;
+		enPassantSquare = (int) (entry >>> EN_PASSANT_SHIFT) & 0x7F;
+		halfmoveClock = (int) (entry >>> HALFMOVE_SHIFT) & 0xFFFF;
+
+		int color = 1 - sideToMove;
+		int type = Moves.isPromotion(move) ? PAWN : typeOf(board[to]);
+		removePiece(to);
+		putPiece(color, type, from);
+		if (Moves.isCastle(move))
+			movePiece((from + to) / 2, castlingRookSquare(from, to));
+		if (captured != NO_PIECE)
+			putPiece(colorOf(captured), typeOf(captured), Moves.isEnPassant(move) ? (color == WHITE ? to - 8 : to + 8) : to);
+
+		if (color == BLACK)
+			fullmoveNumber--;
+		sideToMove = color;
+		key = keyStack[undoCount];
+	}
+
+	/**
+	 * Returns the Zobrist key of an en passant square
+	 * @param square en passant square, or NO_SQUARE
+	 * @return key of the square's file, 0 for NO_SQUARE
+	 */
+	private static long enPassantKey(int square) {
+		return square == NO_SQUARE ? 0 : Zobrist.EN_PASSANT[Bitboards.file(square)];
+	}
+
+	/**
+	 * Computes the Zobrist key of the position from scratch
+	 * @return position key
+	 */
+	public long computeKey() {
+		long k = Zobrist.CASTLING[castlingRights] ^ enPassantKey(enPassantSquare);
+		if (sideToMove == BLACK)
+			k ^= Zobrist.SIDE;
+		for (int square = 0; square < 64; square++) {
+			if (board[square] != NO_PIECE)
+				k ^= Zobrist.PIECES[board[square]][square];
+		}
+		return k;
+	}
+
+	/**
+	 * Returns the squares of the pieces of the passed color attacking a square, computing the attacks
+	 * from the attack tables with a given occupancy
+	 * @param square attacked square
+	 * @param color WHITE or BLACK
+	 * @param occupied occupancy bitboard blocking sliding attacks
+	 * @return bitboard of attacker squares
+	 */
+	public long attackersTo(int square, int color, long occupied) {
+		long queens = pieces[pieceCode(color, QUEEN)];
+		return (Attacks.pawn(1 - color, square) & pieces[pieceCode(color, PAWN)])
+				| (Attacks.knight(square) & pieces[pieceCode(color, KNIGHT)])
+				| (Attacks.king(square) & pieces[pieceCode(color, KING)])
+				| (Attacks.bishop(square, occupied) & (pieces[pieceCode(color, BISHOP)] | queens))
+				| (Attacks.rook(square, occupied) & (pieces[pieceCode(color, ROOK)] | queens));
+	}
+
+	/**
+	 * Returns the squares of the pieces of the passed color attacking a square, blocked by the pieces
+	 * on board
+	 * @param square attacked square
+	 * @param color WHITE or BLACK
+	 * @return bitboard of attacker squares
+	 */
+	public long attackersTo(int square, int color) {
+		return attackersTo(square, color, occupied);
+	}
+
+	/**
+	 * Returns true if any piece of the passed color attacks a square, computing the attacks from the
+	 * attack tables
+	 * @param square attacked square
+	 * @param color WHITE or BLACK
+	 * @return true if attacked, false otherwise
+	 */
+	public boolean isAttacked(int square, int color) {
+		return attackersTo(square, color, occupied) != 0;
+	}
+
+	/**
+	 * Returns the pieces giving check to the king of the side to move
+	 * @return bitboard of checker squares, empty if not in check
+	 */
+	public long checkers() {
+		return attackersTo(kingSquares[sideToMove], 1 - sideToMove, occupied);
+	}
+
+	/**
+	 * Returns true if the king of the side to move is in check
+	 * @return true if in check, false otherwise
+	 */
+	public boolean inCheck() {
+		return checkers() != 0;
+	}
+
+	/**
+	 * Returns the starting square of the rook taking part in a castling move
+	 * @param from square the king moves from
+	 * @param to square the king moves to
+	 * @return square of the corner rook on the side the king moves towards
+	 */
+	private static int castlingRookSquare(int from, int to) {
+		return to > from ? to + 1 : to - 2;
+	}
+
+	/**
+	 * Returns the piece code of the piece standing on a square
+	 * @param square square to look at
+	 * @return piece code, or NO_PIECE if the square is empty
+	 */
+	public int pieceAt(int square) {
+		return board[square];
+	}
+
+	/**
+	 * Returns true if any piece stands on a square
+	 * @param square square to check
+	 * @return true if occupied, false otherwise
+	 */
+	public boolean isOccupied(int square) {
+		return Bitboards.isSet(occupied, square);
+	}
+
+	/**
+	 * Returns true if a piece of the passed color stands on a square
+	 * @param square square to check
+	 * @param color WHITE or BLACK
+	 * @return true if occupied by color, false otherwise
+	 */
+	public boolean isOccupiedBy(int square, int color) {
+		return Bitboards.isSet(colors[color], square);
+	}
+
+	/**
+	 * Returns the bitboard of one piece type of one color
+	 * @param color WHITE or BLACK
+	 * @param type piece type index
+	 * @return bitboard of pieces
+	 */
+	public long getPieces(int color, int type) {
+		return pieces[pieceCode(color, type)];
+	}
+
+	/**
+	 * Returns the occupancy bitboard of one color
+	 * @param color WHITE or BLACK
+	 * @return bitboard of color's pieces
+	 */
+	public long getOccupancy(int color) {
+		return colors[color];
+	}
+
+	/**
+	 * Returns the square of a color's king, kept up to date as pieces are put and removed
+	 * @param color WHITE or BLACK
+	 * @return king square, or NO_SQUARE if the color has no king on board
+	 */
+	public int getKingSquare(int color) {
+		return kingSquares[color];
+	}
+
+	/**
+	 * Returns the occupancy bitboard of both colors
+	 * @return bitboard of all pieces
+	 */
+	public long getOccupied() {
+		return occupied;
+	}
+
+	/**
+	 * Returns the color to move
+	 * @return WHITE or BLACK
+	 */
+	public int getSideToMove() {
+		return sideToMove;
+	}
+
+	/**
+	 * Sets the color to move
+	 * @param sideToMove WHITE or BLACK
+	 */
+	public void setSideToMove(int sideToMove) {
+		if (sideToMove != this.sideToMove)
+			key ^= Zobrist.SIDE;
+		this.sideToMove = sideToMove;
+	}
+
+	/**
+	 * Returns the castling rights still available
+	 * @return combination of castling right flags
+	 */
+	public int getCastlingRights() {
+		return castlingRights;
+	}
+
+	/**
+	 * Sets the castling rights available
+	 * @param castlingRights combination of castling right flags
+	 */
+	public void setCastlingRights(int castlingRights) {
+		key ^= Zobrist.CASTLING[this.castlingRights] ^ Zobrist.CASTLING[castlingRights];
+		this.castlingRights = castlingRights;
+	}
+
+	/**
+	 * Returns the square a pawn can capture en passant on
+	 * @return en passant square, or NO_SQUARE if none
+	 */
+	public int getEnPassantSquare() {
+		return enPassantSquare;
+	}
+
+	/**
+	 * Sets the square a pawn can capture en passant on. The square is only kept if a pawn of the side to
+	 * move can capture on it, so the pieces and side to move must be set first
+	 * @param enPassantSquare en passant square, or NO_SQUARE for none
+	 */
+	public void setEnPassantSquare(int enPassantSquare) {
+		enPassantSquare = usableEnPassant(enPassantSquare, sideToMove);
+		key ^= enPassantKey(this.enPassantSquare) ^ enPassantKey(enPassantSquare);
+		this.enPassantSquare = enPassantSquare;
+	}
+
+	/**
+	 * Returns an en passant square if a pawn of a color can capture on it
+	 * @param square en passant square, or NO_SQUARE
+	 * @param color color of the capturing pawns
+	 * @return square, or NO_SQUARE if no pawn of color can capture on it
+	 */
+	private int usableEnPassant(int square, int color) {
+		if (square == NO_SQUARE || (Attacks.pawn(1 - color, square) & pieces[pieceCode(color, PAWN)]) == 0)
+			return NO_SQUARE;
+		return square;
+	}
+
+	/**
+	 * Returns the number of half moves since the last capture or pawn move
+	 * @return halfmove clock
+	 */
+	public int getHalfmoveClock() {
+		return halfmoveClock;
+	}
+
+	/**
+	 * Sets the number of half moves since the last capture or pawn move
+	 * @param halfmoveClock halfmove clock
+	 */
+	public void setHalfmoveClock(int halfmoveClock) {
+		this.halfmoveClock = halfmoveClock;
+	}
+
+	/**
+	 * Returns the number of the current full move
+	 * @return full move number, starting at 1
+	 */
+	public int getFullmoveNumber() {
+		return fullmoveNumber;
+	}
+
+	/**
+	 * Sets the number of the current full move
+	 * @param fullmoveNumber full move number, starting at 1
+	 */
+	public void setFullmoveNumber(int fullmoveNumber) {
+		this.fullmoveNumber = fullmoveNumber;
+	}
+
+	/**
+	 * Returns how many times the current position occurred before in the moves on the undo stack. Only
+	 * the positions since the last capture or pawn move can repeat, and only every other one has the
+	 * same side to move, so at most halfmoveClock / 2 keys are compared
+	 * @return number of earlier occurrences, 2 or more for a threefold repetition
+	 */
+	public int repetitionCount() {
+		int count = 0;
+		int limit = Math.min(halfmoveClock, undoCount);
+		// a position can first recur four plies later, after both sides moved a piece away and back
+		for (int ply = 4; ply <= limit; ply += 2) {
+			if (keyStack[undoCount - ply] == key)
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns true if the current position occurred before in the moves on the undo stack, stopping at
+	 * the first earlier occurrence. Cheap enough to be called at every node of a search
+	 * @return true if repeated, false otherwise
+	 */
+	public boolean isRepetition() {
+		int limit = Math.min(halfmoveClock, undoCount);
+		for (int ply = 4; ply <= limit; ply += 2) {
+			if (keyStack[undoCount - ply] == key)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the Zobrist key of the position, which identifies it up to hash collisions
+	 * @return position key
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the number of moves that can be taken back with unmakeMove
+	 * @return number of moves on the undo stack
+	 */
+	public int getMoveCount() {
+		return undoCount;
+	}
+}
@@ -0,0 +1,56 @@
+package chessModel;
+
+/**
+ * Side of a chess game. The rules code tells sides apart with this enum, or with its index in the
+ * int based position code, so it never depends on a user interface toolkit for side identity
+ */
+public enum Side {
+
+	WHITE(Position.WHITE, "White"),
+	BLACK(Position.BLACK, "Black");
+
+	/** Position color index of the side */
+	private final int index;
+	/** Name of the side shown to players */
+	private final String name;
+
+	Side(int index, String name) {
+		this.index = index;
+		this.name = name;
+	}
+
+	/**
+	 * Returns the side of a position color index
+	 * @param index Position.WHITE or Position.BLACK
+	 * @return side of index
+	 */
+	public static Side of(int index) {
+		if (index != Position.WHITE && index != Position.BLACK)
+			throw new IllegalArgumentException("Error: color index must be Position.WHITE or Position.BLACK");
+		return index == Position.WHITE ? WHITE : BLACK;
+	}
+
+	/**
+	 * Returns the position color index of the side
+	 * @return Position.WHITE or Position.BLACK
+	 */
+	public int index() {
+		return index;
+	}
+
+	/**
+	 * Returns the other side
+	 * @return opposing side
+	 */
+	public Side opposite() {
+		return this == WHITE ? BLACK : WHITE;
+	}
+
+	/**
+	 * Returns the name of the side shown to players
+	 * @return "White" or "Black"
+	 */
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,55 @@
+package chessModel;
+
+/**
+ * Random keys for Zobrist hashing. The key of a position is the XOR of the keys of every piece on its
+ * square, of the side to move when black moves, of the castling rights and of the en passant file.
+ * Since XOR is its own inverse, a move changes the key by XORing in and out only the keys it affects.
+ * Keys are generated from a fixed seed, so a position has the same key on every run
+ */
+final class Zobrist {
+
+	/** Keys of each piece code on each square */
+	static final long[][] PIECES = new long[12][64];
+	/** Key of black to move */
+	static final long SIDE;
+	/** Keys of each combination of castling right flags */
+	static final long[] CASTLING = new long[16];
+	/** Keys of each en passant file */
+	static final long[] EN_PASSANT = new long[8];
+
+	/** State of the xorshift random number generator */
+	private static long random = 1070372;
+
+	static {
+		for (int piece = 0; piece < 12; piece++) {
+			for (int square = 0; square < 64; square++) {
+				PIECES[piece][square] = nextRandom();
+			}
+		}
+		SIDE = nextRandom();
+		// castling keys are built from one key per right, so changing one right changes one key
+		long[] rights = {nextRandom(), nextRandom(), nextRandom(), nextRandom()};
+		for (int i = 0; i < 16; i++) {
+			for (int right = 0; right < 4; right++) {
+				if ((i & 1 << right) != 0)
+					CASTLING[i] ^= rights[right];
+			}
+		}
+		for (int file = 0; file < 8; file++) {
+			EN_PASSANT[file] = nextRandom();
+		}
+	}
+
+	private Zobrist() {
+	}
+
+	/**
+	 * Returns the next number of the xorshift64* generator
+	 */
+	private static long nextRandom() {
+		random ^= random >>> 12;
+		random ^= random << 25;
+		random ^= random >>> 27;
+		return random * 0x2545F4914F6CDD1DL;
+	}
+}
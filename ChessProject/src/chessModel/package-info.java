@@ -0,0 +1,7 @@
+/**
+ * Rules core of the game: bitboards and attack tables, positions with make and unmake, move
+ * generation and game status. Sides are told apart with Side or with Position color indexes, and the
+ * package depends on nothing outside java.lang and java.util, so it loads without AWT or Swing on
+ * machines with no display. The Swing user interface in chessControllers is one client of it
+ */
+package chessModel;
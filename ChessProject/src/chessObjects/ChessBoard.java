@@ -11,6 +11,8 @@ import java.util.List;
 
 import javax.imageio.ImageIO;
 
+import chessModel.Side;
+
 /**
  * Graphics for chess board including squares, square highlighting, and surrounding file/row
  * annotations (a-h and 1-8)
@@ -25,25 +27,29 @@ public class ChessBoard {
 	private Color current;
 	/** Designated square to highlight (when clicked on), used when painting squares */
 	private Square highlightSquare;
-	//	private Square flashRedSquare = new Square(-1, -1, false);
+	//	private Square flashRedSquare = Square.NONE;
 	/** ArrayList of file characters, a-h or h-a depending on board orientation */
-	private static List<Character> files = new ArrayList<Character>();
+	private List<Character> files = new ArrayList<Character>();
 	/** ArrayList of row characters, 1-8 or 8-1 depending on board orientation */
-	private static List<Character> rows = new ArrayList<Character>();
+	private List<Character> rows = new ArrayList<Character>();
 	/** ArrayList of 0s/1s representing board square colors, contents depend on board orientation */
-	private static List<Integer> squareColors = new ArrayList<Integer>();
-	private Color orientation;
+	private List<Integer> squareColors = new ArrayList<Integer>();
+	/** Side drawn at the bottom of the board */
+	private Side orientation;
 	private Square promotionSquare;
 	private BufferedImage promotionSpriteWhite = null;
 	private BufferedImage promotionSpriteBlack = null;
-	private Color promotionColor;
+	/** True once the promotion sprites were read, which is put off until the board is first painted */
+	private boolean spritesLoaded = false;
+	/** Side of the pawn being promoted */
+	private Side promotionSide;
 	/**
 	 * ChessBoard constructor populating all lists from white's perspective
 	 */
 	public ChessBoard() {
-		highlightSquare = new Square(-1, -1, false);
-		promotionSquare = new Square(-1, -1, false);
-		orientation = Color.white;
+		highlightSquare = Square.NONE;
+		promotionSquare = Square.NONE;
+		orientation = Side.WHITE;
 		// chess squares from white's perspective
 		for (int i = 0; i < 64; i++) {
 			if (i % 2 == 0) squareColors.add(0);
@@ -53,44 +59,35 @@ public class ChessBoard {
 		for (int i = 0; i < 8; i++) {
 			files.add(fileChar++);
 		}
-		char rowChar = '1';
+		// rows are labelled from the top of the board down, the eighth rank first
+		char rowChar = '8';
 		for (int i = 0; i < 8; i++) {
-			rows.add(rowChar++);
+			rows.add(rowChar--);
 		}
-		loadPromotionSprite();
 	}
 
 	public void paintBoard(Graphics g) {
+		if (!spritesLoaded)
+			loadPromotionSprite();
 		// set initial color depending on board orientation
 		current = Color.white;
 		g.setColor(current);
-		// draws board rectangles
+		// draws board rectangles, (j, i) being the drawn square and (x, y) the board square shown on it
 		for (int i = 0; i < 8; i++) {
 			for (int j = 0; j < 8; j++) {
+				int x = viewX(j);
+				int y = viewY(i);
 				// check if square needs to be highlighted
-				if (j == highlightSquare.getXSquare() && i == highlightSquare.getYSquare()) {
-					highlightSquare(g);
+				if (x == highlightSquare.getXSquare() && y == highlightSquare.getYSquare()) {
+					highlightSquare(g, j, i);
 				// [unfinished] check if square should flash, aka king is in check and illegal move attempted
 //				} else if (j == flashRedSquare.getxSquare() && i == flashRedSquare.getySquare()) {
 //					flashRedSquare(g);
 				// check if square should show promotion sprite
-				} else if (j == promotionSquare.getXSquare() && i == promotionSquare.getYSquare()) {
-					if (promotionColor.equals(Color.WHITE)) { // to show white promotion sprite
-						if (promotionSquare.getYSquare() == 7) // board is in default orientation
-							g.drawImage(promotionSpriteWhite, promotionSquare.getXSquare() * squareDimension, 
-									promotionSquare.getYSquare() * squareDimension, null);
-						// else board will be in flipped orientation
-						else g.drawImage(promotionSpriteWhite, promotionSquare.getXSquare() * squareDimension, 
-								promotionSquare.getYSquare() * squareDimension - 3 * squareDimension, null);
-					}
-					else { // to show black promotion sprite
-						if (promotionSquare.getYSquare() == 0) // to show board from default orientation
-							g.drawImage(promotionSpriteBlack, promotionSquare.getXSquare() * squareDimension, 
-									promotionSquare.getYSquare() * squareDimension - 3 * squareDimension, null);
-						// else board will be in flipped orientation
-						else g.drawImage(promotionSpriteBlack, promotionSquare.getXSquare() * squareDimension, 
-								promotionSquare.getYSquare() * squareDimension, null);
-					}
+				} else if (x == promotionSquare.getXSquare() && y == promotionSquare.getYSquare()) {
+					// the sprite shows knight, bishop, rook and queen from top to bottom
+					BufferedImage sprite = promotionSide == Side.WHITE ? promotionSpriteWhite : promotionSpriteBlack;
+					g.drawImage(sprite, 20 + j * squareDimension, 20 + getPromotionMenuTop() * squareDimension, null);
 				} else // otherwise fill square normally as white or black
 					g.fillRect(20 + 60 * j, 20 + 60 * i, squareDimension, squareDimension);
 				if (j != 7) // flip color if not on the row's last square
@@ -121,6 +118,7 @@ public class ChessBoard {
 	}
 
 	private void loadPromotionSprite() {
+		spritesLoaded = true;
 		try {
 			promotionSpriteWhite = ImageIO.read(new File("ChessPieces/promotionWhitex60.png"));
 			promotionSpriteBlack = ImageIO.read(new File("ChessPieces/promotionBlackx60.png"));
@@ -141,18 +139,21 @@ public class ChessBoard {
 	}
 
 	public void stopHighlight(Square sq) {
-		highlightSquare = new Square(-1, -1, false);
+		highlightSquare = Square.NONE;
 	}
 
 	private boolean isInitialColorWhite(Square sq) {
 		return (squareColors.get(sq.getXSquare() + sq.getYSquare() * 7) == 0) ? true : false;
 	}
 
-	private void highlightSquare(Graphics g) {
+	/**
+	 * Paints the highlighted square, drawn at view square (j, i)
+	 */
+	private void highlightSquare(Graphics g, int j, int i) {
 		Color previous = current;
 		Color highlighter = isInitialColorWhite(highlightSquare) ? Color.LIGHT_GRAY : Color.DARK_GRAY;
 		g.setColor(highlighter);
-		g.fillRect(highlightSquare.getXSquare() * squareDimension + 20, highlightSquare.getYSquare() * squareDimension + 20, squareDimension, squareDimension);
+		g.fillRect(j * squareDimension + 20, i * squareDimension + 20, squareDimension, squareDimension);
 		current = previous;
 		g.setColor(current);
 	}
@@ -170,7 +171,7 @@ public class ChessBoard {
 	//		//TODO: this goes forever
 	//		TimerTask task = new TimerTask() {
 	//	        public void run() {
-	//	            flashRedSquare = new Square(-1, -1, false);
+	//	            flashRedSquare = Square.NONE;
 	//	        }
 	//	    };
 	//	    Timer timer = new Timer("Timer");
@@ -179,28 +180,58 @@ public class ChessBoard {
 	//	    timer.schedule(task, delay);
 	//	}
 
+	/**
+	 * Flips the board view. Only the drawing changes: board squares keep their coordinates, and are
+	 * converted to and from the drawn squares with viewX and viewY
+	 */
 	public void flipBoard() {
-		if (orientation == Color.BLACK)
-			orientation = Color.WHITE;
-		else
-			orientation = Color.BLACK;
+		orientation = orientation.opposite();
 		Collections.reverse(rows);
 		Collections.reverse(files);
 	}
 
-	public void promoteSquare(Square sq, Color pieceColor) {
+	public void promoteSquare(Square sq, Side pieceSide) {
 		promotionSquare = sq;
-		promotionColor = pieceColor;
+		promotionSide = pieceSide;
 	}
 	
 	public void closePromotionMenu() {
-		promotionSquare = new Square (-1, -1, false);
+		promotionSquare = Square.NONE;
 	}
 
-	public Color getOrientation() {
+	public Side getOrientation() {
 		return orientation;
 	}
 
+	/**
+	 * Converts a board square x component to the x component of the square it is drawn on, or back,
+	 * since flipping is its own inverse
+	 * @param x x component (0-7)
+	 * @return converted x component (0-7)
+	 */
+	public int viewX(int x) {
+		return orientation == Side.WHITE ? x : 7 - x;
+	}
+
+	/**
+	 * Converts a board square y component to the y component of the square it is drawn on, or back,
+	 * since flipping is its own inverse
+	 * @param y y component (0-7)
+	 * @return converted y component (0-7)
+	 */
+	public int viewY(int y) {
+		return orientation == Side.WHITE ? y : 7 - y;
+	}
+
+	/**
+	 * Returns the drawn row the promotion menu starts at. The menu covers the promotion square and the
+	 * three squares towards the center of the board
+	 * @return top row of promotion menu (0 or 4)
+	 */
+	public int getPromotionMenuTop() {
+		return viewY(promotionSquare.getYSquare()) == 0 ? 0 : 4;
+	}
+
 	public int getSquareDimension() {
 		return squareDimension;
 	}
@@ -209,7 +240,7 @@ public class ChessBoard {
 		return promotionSquare;
 	}
 	
-	public Color getPromotionColor() {
-		return promotionColor;
+	public Side getPromotionSide() {
+		return promotionSide;
 	}
 }
\ No newline at end of file
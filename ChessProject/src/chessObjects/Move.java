@@ -1,87 +1,146 @@
 package chessObjects;
 
-import chessControllers.Chess;
-import chessControllers.ChessPieceController;
+import chessControllers.Game;
+import chessModel.Moves;
 import chessPieces.ChessPiece;
+import chessPieces.King;
+import chessPieces.Pawn;
+import chessPieces.Rook;
 
 /**
- * Class representing one move in Chess. Used for check functionality and in tracking game moves
+ * Class representing one move in Chess, as a rich wrapper around a packed move code (see Moves) with
+ * the chess pieces it involves. Used in tracking game moves for navigating through the game
  * @author Lorenzo Battigelli
  *
  */
 public class Move {
 
-	/** Square that piece has moved from */
-	private Square from;
-	/** Square that piece has moved to */
-	private Square to;
+	/** Game the move is played in */
+	private final Game game;
+	/** Packed move code of this move, in position squares */
+	private int move;
 	/** Piece that is moving */
 	private ChessPiece piece;
 	/** Optional piece that was captured */
 	private ChessPiece captured;
+	/** Piece a promoting pawn became, null if the move is not a promotion */
+	private ChessPiece promoted;
+	/** True if this is the first move of a king, rook or pawn, whose moved flag is reset on undo */
+	private boolean firstMove;
 	
 	/**
-	 * Constructor with coordinates and all fields
+	 * Constructor with all fields. Must be called before the piece is moved
+	 * @param game game the move is played in
 	 * @param piece the chess piece being moved
-	 * @param x1 x coordinate of square piece moved from
-	 * @param y1 y coordinate of square piece moved from
-	 * @param x2 x coordinate of square piece moved to
-	 * @param y2 x coordinate of square piece moved to
-	 * @param (optional) captured piece if square (x2, y2) had a piece before this move
+	 * @param move packed move code
+	 * @param captured (optional) captured piece, null if the move is not a capture
 	 */
-	public Move(ChessPiece piece, int x1, int y1, int x2, int y2, ChessPiece captured) {
+	public Move(Game game, ChessPiece piece, int move, ChessPiece captured) {
+		this.game = game;
 		this.piece = piece;
-		from = new Square(x1, y1, Chess.isOccupied(x1, y1));
-		to = new Square(x2, y2, Chess.isOccupied(x2, y2));
+		this.move = move;
 		this.captured = captured;
+		firstMove = !hasMoved(piece);
 	}
 	
 	/**
-	 * Constructor with squares instead of coordinates
+	 * Constructor with no captured piece
 	 */
-	public Move(ChessPiece piece, Square from, Square to, ChessPiece captured) {
-		this(piece, from.getXSquare(), from.getYSquare(), to.getXSquare(), to.getYSquare(), captured);
+	public Move(Game game, ChessPiece piece, int move) {
+		this(game, piece, move, null);
 	}
 	
 	/**
-	 * Constructor with coordinates and no captured piece
+	 * Undoes the most recent move by moving the piece (and the rook of a castle) backwards, returning a
+	 * captured piece to the board if applicable, and taking the move back in the position. A promoted
+	 * piece is taken off the board and its pawn put back in its place first
 	 */
-	public Move(ChessPiece piece, int x1, int y1, int x2, int y2) {
-		this(piece, x1, y1, x2, y2, null);
+	public void undo() {
+		int from = Moves.from(move);
+		int to = Moves.to(move);
+		int xDisplacement = (Game.toX(to) - Game.toX(from)) * Game.getSquareDimension();
+		int yDisplacement = (Game.toY(to) - Game.toY(from)) * Game.getSquareDimension();
+		if (promoted != null) {
+			game.takePieceOffBoard(promoted);
+			promoted.removePiece();
+			piece.move(-600, 0);
+			game.putPieceOnBoard(piece);
+		}
+		piece.move(-xDisplacement, -yDisplacement);
+		game.switchOccupation(Game.toX(to), Game.toY(to), Game.toX(from), Game.toY(from));
+		if (Moves.isCastle(move)) {
+			// the rook stands on the square the king passed over, and returns to the corner on that side
+			int rookFrom = (from + to) / 2;
+			int rookTo = to > from ? to + 1 : to - 2;
+			Rook rook = (Rook) game.getPiece(Game.toX(rookFrom), Game.toY(rookFrom));
+			rook.move((Game.toX(rookTo) - Game.toX(rookFrom)) * Game.getSquareDimension(), 0);
+			rook.resetHasMoved();
+			game.switchOccupation(Game.toX(rookFrom), Game.toY(rookFrom), Game.toX(rookTo), Game.toY(rookTo));
+		}
+		if (captured != null) {
+			captured.move(-600, 0);
+			game.putPieceOnBoard(captured);
+		}
+		if (firstMove)
+			resetHasMoved(piece);
+		game.unmakeMove(move);
 	}
 	
 	/**
-	 * Constructor with squares and no captured piece
+	 * Replays an undone move by taking a captured piece off the board, moving the piece (a king moves
+	 * its rook along when castling), replacing a promoting pawn with its promoted piece and playing the
+	 * move again in the position
 	 */
-	public Move(ChessPiece piece, Square from, Square to) {
-		this(piece, from.getXSquare(), from.getYSquare(), to.getXSquare(), to.getYSquare(), null);
+	public void redo() {
+		int from = Moves.from(move);
+		int to = Moves.to(move);
+		int xDisplacement = (Game.toX(to) - Game.toX(from)) * Game.getSquareDimension();
+		int yDisplacement = (Game.toY(to) - Game.toY(from)) * Game.getSquareDimension();
+		if (captured != null) {
+			game.takePieceOffBoard(captured);
+			captured.removePiece();
+		}
+		piece.move(xDisplacement, yDisplacement);
+		game.switchOccupation(Game.toX(from), Game.toY(from), Game.toX(to), Game.toY(to));
+		if (promoted != null) {
+			game.takePieceOffBoard(piece);
+			piece.removePiece();
+			promoted.move(-600, 0);
+			game.putPieceOnBoard(promoted);
+		}
+		game.makeMove(move);
 	}
 	
 	/**
-	 * Undoes the most recent move by moving the piece backwards and returning a captured piece to the
-	 * board if applicable
+	 * Records the piece a pawn promoted to, once it is chosen, with the move code promoting to it
+	 * @param promoted new piece on the pawn's last square
+	 * @param move packed promotion move code
 	 */
-	public void undo() {
-		int xDisplacement = (to.getXSquare() - from.getXSquare()) * Chess.getSquareDimension();
-		int yDisplacement = (to.getYSquare() - from.getYSquare()) * Chess.getSquareDimension();
-		piece.move(-xDisplacement, -yDisplacement);
-		ChessPieceController.switchOccupation(to.getXSquare(), to.getYSquare(), from.getXSquare(), from.getYSquare());
-		if (captured != null) {
-			captured.move(-600, 0);
-			Chess.setOccupation(captured.getXSquare(), captured.getYSquare(), true);
-			ChessPieceController.putPieceOnBoard(captured);
-		}
-		ChessPieceController.updatePieceLists();
+	public void setPromotion(ChessPiece promoted, int move) {
+		this.promoted = promoted;
+		this.move = move;
 	}
 	
 	/**
-	 * TODO
+	 * Returns true if a piece has moved before, for pieces that keep track of it (king, rook and pawn)
+	 * @param piece piece to check
+	 * @return false if the piece has not moved yet, true otherwise
 	 */
-	public void redo() {
-		int xDisplacement = (to.getXSquare() - from.getXSquare()) * Chess.getSquareDimension();
-		int yDisplacement = (to.getYSquare() - from.getYSquare()) * Chess.getSquareDimension();
-		piece.move(xDisplacement, yDisplacement);
-		//TODO: incomplete
+	private static boolean hasMoved(ChessPiece piece) {
+		if (piece instanceof King) return ((King) piece).getHasMoved();
+		if (piece instanceof Rook) return ((Rook) piece).getHasMoved();
+		if (piece instanceof Pawn) return ((Pawn) piece).getHasMoved();
+		return true;
+	}
+	
+	/**
+	 * Marks a king, rook or pawn as not having moved yet
+	 * @param piece piece to reset
+	 */
+	private static void resetHasMoved(ChessPiece piece) {
+		if (piece instanceof King) ((King) piece).resetHasMoved();
+		else if (piece instanceof Rook) ((Rook) piece).resetHasMoved();
+		else if (piece instanceof Pawn) ((Pawn) piece).resetHasMoved();
 	}
 	
 	/**
@@ -97,7 +156,7 @@ public class Move {
 	 * @return Square from
 	 */
 	public Square getFrom() {
-		return from;
+		return Square.of(Game.toX(Moves.from(move)), Game.toY(Moves.from(move)));
 	}
 	
 	/**
@@ -105,7 +164,15 @@ public class Move {
 	 * @return Square to
 	 */
 	public Square getTo() {
-		return to;
+		return Square.of(Game.toX(Moves.to(move)), Game.toY(Moves.to(move)));
+	}
+	
+	/**
+	 * Returns the packed move code of this move
+	 * @return move code
+	 */
+	public int getMove() {
+		return move;
 	}
 	
 }
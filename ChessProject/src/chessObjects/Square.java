@@ -1,82 +1,74 @@
 package chessObjects;
 
 /**
- * Object representing a single chess board square by means of x and y coordinates
+ * Object representing a single chess board square by means of x and y coordinates. Squares are immutable
+ * and interned: there is one instance per board square, returned by of(x, y), so squares compare by
+ * identity. Whether a square is occupied is kept by the board, not by the square
  * @author Lorenzo Battigelli
  *
  */
-public class Square {
+public final class Square {
+
+	/** Square standing for no board square, e.g. when no square is highlighted */
+	public static final Square NONE = new Square(-1, -1);
+	/** The 64 board squares, indexed by x and y */
+	private static final Square[][] SQUARES = new Square[8][8];
+
+	static {
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				SQUARES[x][y] = new Square(x, y);
+			}
+		}
+	}
 
 	/** x component of square array (0-7) */
-	private int xSquare;
+	private final int xSquare;
 	/** y component of square array (0-7) */
-	private int ySquare;
-	/** true if square has chess piece on it, else false */
-	private boolean occupied;
+	private final int ySquare;
 	
 	/**
-	 * Constructor, sets fields
+	 * Constructor, sets fields. Only used to build the interned squares
 	 * @param x component of square array
 	 * @param y component of square array
-	 * @param occ whether or not piece is on square
 	 */
-	public Square(int x, int y, boolean occ) {
-		setXSquare(x);
-		setYSquare(y);
-		setOccupied(occ);
+	private Square(int x, int y) {
+		xSquare = x;
+		ySquare = y;
+	}
+	
+	/**
+	 * Returns the square of specified coordinates
+	 * @param x component of square array (0-7)
+	 * @param y component of square array (0-7)
+	 * @return interned square of said coordinates
+	 */
+	public static Square of(int x, int y) {
+		if (x > 7 || y > 7 || x < 0 || y < 0)
+			throw new IllegalArgumentException("Error: square (" + x + ", " + y + ") is off board");
+		return SQUARES[x][y];
 	}
 	
 	public int getXSquare() {
 		return xSquare;
 	}
 
-	public void setXSquare(int xSquare) {
-		this.xSquare = xSquare;
-	}
-
 	public int getYSquare() {
 		return ySquare;
 	}
-
-	public void setYSquare(int ySquare) {
-		this.ySquare = ySquare;
-	}
-
-	public boolean isOccupied() {
-		return occupied;
-	}
-
-	public void setOccupied(boolean occupied) {
-		this.occupied = occupied;
-	}
-	
-	/**
-	 * Comparison method, compares all square fields
-	 */
-	public boolean equals(Object o) {
-		if (!o.getClass().toString().equals("class chessObjects.Square"))
-			return false;
-		Square other = (Square) o;
-		return other.getXSquare() == xSquare && other.getYSquare() == ySquare && other.isOccupied() == occupied;
-	}
 	
 	/**
-	 * Comparison method, only comparing x and y fields
+	 * Hash code matching identity equality: squares are interned, so each hash belongs to one instance
 	 */
-	public boolean equalsXY(Object o) {
-		if (!o.getClass().toString().equals("class chessObjects.Square"))
-			return false;
-		Square other = (Square) o;
-		return other.getXSquare() == xSquare && other.getYSquare() == ySquare && other.isOccupied() == occupied;
+	public int hashCode() {
+		return ySquare * 8 + xSquare;
 	}
 	
 	/**
 	 * Custom toString used for testing/debugging
 	 */
 	public String toString() {
-		String not = "";
-		if (!isOccupied()) not = "not ";
-		return "Square (" + getXSquare() + ", " + getYSquare() + ") " + not + "occupied";
+		return "Square (" + getXSquare() + ", " + getYSquare() + ")";
 	}
 	
 }
@@ -1,8 +1,8 @@
 package chessPieces;
 
-import java.awt.Color;
 import java.util.List;
 
+import chessModel.Side;
 import chessObjects.Square;
 
 /**
@@ -62,16 +62,6 @@ public interface ChessPiece {
 	 */
 	public List<Square> getMoveList();
 	
-	/**
-	 * Populates the piece's move list upon start of the game
-	 */
-	public void populateMoves();
-	
-	/**
-	 * Updates the piece's move list upon moving the piece
-	 */
-	public void updateMoves();
-	
 	/**
 	 * Returns x-component of piece's square
 	 * @return xSquare
@@ -97,10 +87,10 @@ public interface ChessPiece {
 	public int getYCoord();
 	
 	/**
-	 * Returns Color of piece
-	 * @return pieceColor
+	 * Returns side of piece
+	 * @return side, null for no piece
 	 */
-	public Color getColor();
+	public Side getSide();
 	
 	/**
 	 * Returns value of piece
@@ -108,4 +98,10 @@ public interface ChessPiece {
 	 */
 	public int getValue();
 	
+	/**
+	 * Returns type of piece
+	 * @return type
+	 */
+	public PieceType getType();
+	
 }
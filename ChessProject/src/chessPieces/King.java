@@ -1,11 +1,12 @@
 package chessPieces;
 
-import java.awt.Color;
-import java.util.ArrayList;
 import java.util.List;
 
-import chessControllers.Chess;
-import chessControllers.ChessPieceController;
+import chessControllers.Game;
+import chessModel.Attacks;
+import chessModel.MoveGenerator;
+import chessModel.Position;
+import chessModel.Side;
 import chessObjects.Square;
 
 /**
@@ -16,6 +17,8 @@ import chessObjects.Square;
  */
 public class King implements ChessPiece {
 
+	/** Game the piece belongs to */
+	private final Game game;
 	/** x component of square array (0-7) */ 
 	private int xSquare;
 	/** y component of square array (0-7) */
@@ -24,123 +27,66 @@ public class King implements ChessPiece {
 	private int xCoord;
 	/** y component of pixel array (0-479) */
 	private int yCoord;
-	/** boolean for canMove() and canCapture() methods */
-	private Color pieceColor;
+	/** Side the piece plays for, used in canMove() and canCapture() methods */
+	private Side side;
 	/** boolean representing whether or not the king has moved in the current game, used for castling */
 	private boolean hasMoved;
-	/** List of squares that can be reached by this piece, used for check/check-mate functionality */
-	private List<Square> moveList = new ArrayList<Square>();
+	/** Position color index of piece, used for castling right lookups */
+	private int colorIndex;
 	
 	/**
 	 * Constructor for King chess piece
+	 * @param g game the piece belongs to
 	 * @param xStart x-component of piece's square
 	 * @param yStart y-component of piece's square
 	 * @param xC x-coordinate of piece
 	 * @param yC y-coordinate of piece
-	 * @param pc piece color
+	 * @param s side of piece
 	 */
-	public King(int xStart, int yStart, int xC, int yC, Color pc) {
+	public King(Game g, int xStart, int yStart, int xC, int yC, Side s) {
+		game = g;
 		xSquare = xStart;
 		ySquare = yStart;
 		xCoord = xC;
 		yCoord = yC;
-		pieceColor = pc;
+		side = s;
+		colorIndex = side.index();
 		hasMoved = false;
-		populateMoves();
 	}
 	
 	@Override
 	public boolean canMove(int x2, int y2) {
-		boolean movable = !Chess.isOccupied(x2, y2) && squareInMoves(x2, y2) && ChessPieceController.kingCanMove(x2, y2, pieceColor);
-		boolean castleable = canCastle(x2, y2) && ChessPieceController.kingCanMove(x2, y2, pieceColor) && !Chess.kingInCheck(pieceColor);
+		boolean movable = !game.isOccupied(x2, y2) && squareInMoves(x2, y2) && game.kingCanMove(x2, y2, side);
+		boolean castleable = canCastle(x2, y2);
 		return movable || castleable;
 	}
 
 	@Override
 	public boolean canCapture(int x2, int y2) {
-		return Chess.isOccupied(x2, y2) && squareInMoves(x2, y2) && ChessPieceController.kingCanMove(x2, y2, pieceColor) 
-				&& !Chess.getPiece(x2, y2).getColor().equals(pieceColor);
+		return game.isOccupied(x2, y2) && squareInMoves(x2, y2) && game.kingCanMove(x2, y2, side) 
+				&& game.getPiece(x2, y2).getSide() != side;
 	}
 
 	@Override
 	public void move(int xDisplacement, int yDisplacement) {
-		int xDispSquares = (xDisplacement / Chess.getSquareDimension());
-		int xDisplacementInSquares = (xDisplacement / Chess.getSquareDimension());
-		int yDisplacementInSquares = (yDisplacement / Chess.getSquareDimension());
-		boolean orientationWhite = Chess.getOrientation().equals(Color.WHITE); 
-		if (xDisplacement == 120 || xDisplacement == -120) { // 2 square move = castle attempt (60 pixel per square)
-			// move rook over 2
-			if (pieceColor.equals(Color.WHITE)) {
-				if (orientationWhite) {
-					if (xDispSquares > 0) { // king side castle
-						Chess.getPiece(xSquare + 3, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare + 3, ySquare, xSquare + 3 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-					} else if (xDispSquares < 0) { // queen side castle
-						xDisplacement *= 1.5;
-						xDisplacementInSquares = (xDisplacement / Chess.getSquareDimension());
-						Chess.getPiece(xSquare - 4, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare - 4, ySquare, xSquare - 4 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-						xDisplacement /= 1.5;
-					}
-				} else {
-					if (xDispSquares < 0) { // king side castle
-						Chess.getPiece(xSquare - 3, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare - 3, ySquare, xSquare - 3 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-					} else if (xDispSquares > 0) { // queen side castle
-						xDisplacement *= 1.5;
-						xDisplacementInSquares = (xDisplacement / Chess.getSquareDimension());
-						Chess.getPiece(xSquare + 4, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare + 4, ySquare, xSquare + 4 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-						xDisplacement /= 1.5;
-					}
-				}
-
-			} else {
-				if (orientationWhite) {
-					if (xDispSquares > 0) { // king side castle
-						Chess.getPiece(xSquare + 3, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare + 3, ySquare, xSquare + 3 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-					} else if (xDispSquares < 0) { // queen side castle
-						xDisplacement *= 1.5;
-						xDisplacementInSquares = (xDisplacement / Chess.getSquareDimension());
-						Chess.getPiece(xSquare + 4, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare - 4, ySquare, xSquare - 4 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-						xDisplacement /= 1.5;
-					}
-				} else {
-					if (xDispSquares < 0) { // king side castle
-						Chess.getPiece(xSquare - 3, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare - 3, ySquare, xSquare - 3 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-					} else if (xDispSquares > 0) { // queen side castle
-						xDisplacement *= 1.5;
-						xDisplacementInSquares = (xDisplacement / Chess.getSquareDimension());
-						Chess.getPiece(xSquare + 4, ySquare).move(-xDisplacement, yDisplacement);
-						ChessPieceController.switchOccupation(xSquare + 4, ySquare, xSquare + 4 - xDisplacementInSquares, 
-								ySquare + yDisplacementInSquares);
-						xDisplacement /= 1.5;
-					}
-				}
-
-			}
+		if (!hasMoved && (xDisplacement == 120 || xDisplacement == -120)) { // 2 square move = castle attempt (60 pixel per square)
+			// the rook jumps from its corner to the square the king crosses
+			int rookX = xDisplacement > 0 ? xSquare + 3 : xSquare - 4;
+			int rookToX = xDisplacement > 0 ? xSquare + 1 : xSquare - 1;
+			game.getPiece(rookX, ySquare).move((rookToX - rookX) * Game.getSquareDimension(), 0);
+			game.switchOccupation(rookX, ySquare, rookToX, ySquare);
 		}
 		xCoord += xDisplacement;
 		yCoord += yDisplacement;
-		xSquare += (xDisplacement / Chess.getSquareDimension());
-		ySquare += (yDisplacement / Chess.getSquareDimension());
+		xSquare += (xDisplacement / Game.getSquareDimension());
+		ySquare += (yDisplacement / Game.getSquareDimension());
 		hasMoved = true;
 	}
 
 	@Override
 	public ChessPiece capture(int x2, int y2) {
 		hasMoved = true;
-		return Chess.getPiece(x2, y2).removePiece();
+		return game.getPiece(x2, y2).removePiece();
 	}
 
 	@Override
@@ -151,145 +97,40 @@ public class King implements ChessPiece {
 		return this;
 	}
 
-	@Override
-	public void populateMoves() {
-		if (xSquare - 1 >= 0 && ySquare - 1 >= 0)
-			moveList.add(new Square(xSquare - 1, ySquare - 1, false));
-		if (ySquare - 1 >= 0)
-			moveList.add(new Square(xSquare, ySquare - 1, false));
-		if (xSquare - 1 >= 0)
-			moveList.add(new Square(xSquare - 1, ySquare, false));
-		if (xSquare - 1 >= 0 && ySquare + 1 <= 7)
-			moveList.add(new Square(xSquare - 1, ySquare + 1, false));
-		if (xSquare + 1 <= 7 && ySquare - 1 >= 0)
-			moveList.add(new Square(xSquare + 1, ySquare - 1, false));
-		if (xSquare + 1 <= 7)
-			moveList.add(new Square(xSquare + 1, ySquare, false));
-		if (ySquare + 1 <= 7)
-			moveList.add(new Square(xSquare, ySquare + 1, false));
-		if (xSquare + 1 <= 7 && ySquare + 1 <= 7)
-			moveList.add(new Square(xSquare + 1, ySquare + 1, false));
-	}
-	
-	@Override
-	public void updateMoves() {
-		List<Square> updatedMoveList = new ArrayList<Square>();
-		if (xSquare - 1 >= 0 && ySquare - 1 >= 0)
-			updatedMoveList.add(new Square(xSquare - 1, ySquare - 1, false));
-		if (ySquare - 1 >= 0)
-			updatedMoveList.add(new Square(xSquare, ySquare - 1, false));
-		if (xSquare - 1 >= 0)
-			updatedMoveList.add(new Square(xSquare - 1, ySquare, false));
-		if (xSquare - 1 >= 0 && ySquare + 1 <= 7)
-			updatedMoveList.add(new Square(xSquare - 1, ySquare + 1, false));
-		if (xSquare + 1 <= 7 && ySquare - 1 >= 0)
-			updatedMoveList.add(new Square(xSquare + 1, ySquare - 1, false));
-		if (xSquare + 1 <= 7)
-			updatedMoveList.add(new Square(xSquare + 1, ySquare, false));
-		if (ySquare + 1 <= 7)
-			updatedMoveList.add(new Square(xSquare, ySquare + 1, false));
-		if (xSquare + 1 <= 7 && ySquare + 1 <= 7)
-			updatedMoveList.add(new Square(xSquare + 1, ySquare + 1, false));
-		moveList = updatedMoveList;
-	}
-	
 	private boolean squareInMoves(int x2, int y2) {
-		if (moveList.contains(new Square(x2, y2, false))) return true;
-		return false;
+		return canSee(x2, y2);
 	}
 	
 	@Override
 	public List<Square> getMoveList() {
-		return moveList;
+		return Game.toSquares(Attacks.king(Game.toIndex(xSquare, ySquare)));
 	}
 	
 	@Override
 	public boolean canSee(int x2, int y2) {
-		Square temp = new Square(x2, y2, false);
-		return moveList.contains(temp);
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0) return false;
+		return (Attacks.king(Game.toIndex(xSquare, ySquare)) & (1L << Game.toIndex(x2, y2))) != 0;
 	}
 	
+	/**
+	 * Returns true if moving to specified square is a legal castle, judged from the position's castling
+	 * rights, occupancy and attacks
+	 * @param x2 x index of square array
+	 * @param y2 y index of square array
+	 * @return true if castle, false otherwise
+	 */
 	private boolean canCastle(int x2, int y2) {
-		boolean squaresNotInCheck = false;
-		boolean notOccupied = false;
-		boolean rookNotMoved = false;
-		Rook tempRook;
-		boolean orientationWhite = Chess.getOrientation().equals(Color.WHITE); 
-		if (pieceColor.equals(Color.WHITE)) {
-			if (orientationWhite) { // chess board is in white's perspective
-				if (x2 > xSquare) { // king side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 - 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 - 1, y2);
-					if (Chess.getPiece(x2 + 1, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 + 1, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				} else if (x2 < xSquare) { // queen side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 + 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 + 1, y2) && 
-							!Chess.isOccupied(x2 - 1, y2);
-					if (Chess.getPiece(x2 - 2, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 - 2, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				}
-			} else { // chess board is in black's perspective
-				if (x2 < xSquare) { // king side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 + 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 + 1, y2);
-					if (Chess.getPiece(x2 - 1, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 - 1, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				} else if (x2 > xSquare) { // queen side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 - 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 + 1, y2) && 
-							!Chess.isOccupied(x2 - 1, y2);
-					if (Chess.getPiece(x2 + 2, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 + 2, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				}
-			}
-		} else {
-			if (orientationWhite) { // chess board is in white's perspective
-				if (x2 > xSquare) { // king side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 - 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 - 1, y2);
-					if (Chess.getPiece(x2 + 1, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 + 1, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				} else if (x2 < xSquare) { // queen side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 + 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 + 1, y2) && 
-							!Chess.isOccupied(x2 - 1, y2);
-					if (Chess.getPiece(x2 - 2, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 - 2, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				}
-			} else { // chess board is in black's perspective
-				if (x2 < xSquare) { // king side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 + 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 + 1, y2);
-					if (Chess.getPiece(x2 - 1, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 - 1, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				} else if (x2 > xSquare) { // queen side castle
-					squaresNotInCheck = Chess.notAttacked(x2, y2, pieceColor) && Chess.notAttacked(x2 - 1, y2, pieceColor);
-					notOccupied = !Chess.isOccupied(x2, y2) && !Chess.isOccupied(x2 + 1, y2) && 
-							!Chess.isOccupied(x2 - 1, y2);
-					if (Chess.getPiece(x2 + 2, y2).getClass().toString().equals("class chessPieces.Rook")) {
-						tempRook = (Rook) Chess.getPiece(x2 + 2, y2);
-						rookNotMoved = tempRook.getHasMoved();
-					}
-				}
-			}
-
-		}
-		return squaresNotInCheck && notOccupied && !hasMoved && !rookNotMoved && Chess.notAttacked(xSquare, ySquare, pieceColor);
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0 || y2 != ySquare) return false;
+		int from = Game.toIndex(xSquare, ySquare);
+		int to = Game.toIndex(x2, y2);
+		int right;
+		if (to == from + 2)
+			right = colorIndex == Position.WHITE ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+		else if (to == from - 2)
+			right = colorIndex == Position.WHITE ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+		else
+			return false;
+		return MoveGenerator.canCastle(game.getPosition(), right);
 	}
 	
 	public void resetHasMoved() {
@@ -317,14 +158,19 @@ public class King implements ChessPiece {
 	}
 
 	@Override
-	public Color getColor() {
-		return pieceColor;
+	public Side getSide() {
+		return side;
 	}
 
 	@Override
 	public int getValue() {
 		return 0;
 	}
+
+	@Override
+	public PieceType getType() {
+		return PieceType.KING;
+	}
 	
 	public boolean getHasMoved() {
 		return hasMoved;
@@ -1,10 +1,10 @@
 package chessPieces;
 
-import java.awt.Color;
-import java.util.ArrayList;
 import java.util.List;
 
-import chessControllers.Chess;
+import chessControllers.Game;
+import chessModel.Attacks;
+import chessModel.Side;
 import chessObjects.Square;
 
 /**
@@ -15,6 +15,8 @@ import chessObjects.Square;
  */
 public class Knight implements ChessPiece {
 
+	/** Game the piece belongs to */
+	private final Game game;
 	/** x component of square array (0-7) */ 
 	private int xSquare;
 	/** y component of square array (0-7) */
@@ -23,52 +25,51 @@ public class Knight implements ChessPiece {
 	private int xCoord;
 	/** y component of pixel array (0-479) */
 	private int yCoord;
-	/** boolean for canMove() and canCapture() methods */
-	private Color pieceColor;
+	/** Side the piece plays for, used in canMove() and canCapture() methods */
+	private Side side;
 	/** Piece value for tracking instantaneous advantage and piece tracking - Pawn = 1, Bishop/Knight = 3, Rook = 5, Queen = 9 */
 	private int value;
-	/** List of squares that can be reached by this piece, used for check/checkmate functionality */
-	private List<Square> moveList = new ArrayList<Square>();
 	
 	/**
 	 * constructor for Knight chess piece
+	 * @param g game the piece belongs to
 	 * @param xStart x-component of piece's square
 	 * @param yStart y-component of piece's square
 	 * @param xC x-coordinate of piece
 	 * @param yC y-coordinate of piece
-	 * @param pc piece color
+	 * @param s side of piece
 	 */
-	public Knight(int xStart, int yStart, int xC, int yC, Color pc) {
+	public Knight(Game g, int xStart, int yStart, int xC, int yC, Side s) {
+		game = g;
 		xSquare = xStart;
 		ySquare = yStart;
 		xCoord = xC;
 		yCoord = yC;
-		pieceColor = pc;
+		side = s;
 		value = 3;
-		populateMoves();
 	}
 	
 	@Override
 	public boolean canMove(int x2, int y2) {
-		return !Chess.isOccupied(x2, y2) && squareInMoves(x2, y2);
+		return !game.isOccupied(x2, y2) && squareInMoves(x2, y2);
 	}
 
 	@Override
 	public boolean canCapture(int x2, int y2) {
-		return Chess.isOccupied(x2, y2) && squareInMoves(x2, y2) && !Chess.getPiece(x2, y2).getColor().equals(pieceColor);
+		return game.isOccupied(x2, y2) && squareInMoves(x2, y2) && game.getPiece(x2, y2).getSide() != side;
 	}
 
 	@Override
 	public void move(int xDisplacement, int yDisplacement) {
 		xCoord += xDisplacement;
 		yCoord += yDisplacement;
-		xSquare += (xDisplacement / Chess.getSquareDimension());
-		ySquare += (yDisplacement / Chess.getSquareDimension());
+		xSquare += (xDisplacement / Game.getSquareDimension());
+		ySquare += (yDisplacement / Game.getSquareDimension());
 	}
 
 	@Override
 	public ChessPiece capture(int x2, int y2) {
-		return Chess.getPiece(x2, y2).removePiece();
+		return game.getPiece(x2, y2).removePiece();
 	}
 
 	@Override
@@ -79,65 +80,19 @@ public class Knight implements ChessPiece {
 		return this;
 	}
 	
-	@Override
-	public void populateMoves() {
-		if (xSquare - 1 >= 0 && ySquare - 2 >= 0)
-			moveList.add(new Square(xSquare - 1, ySquare - 2, false));
-		if (xSquare - 2 >= 0 && ySquare - 1 >= 0)
-			moveList.add(new Square(xSquare - 2, ySquare - 1, false));
-		if (xSquare + 1 <= 7 && ySquare - 2 >= 0)
-			moveList.add(new Square(xSquare + 1, ySquare - 2, false));
-		if (xSquare - 2 >= 0 && ySquare + 1 <= 7)
-			moveList.add(new Square(xSquare - 2, ySquare + 1, false));
-		if (xSquare - 1 >= 0 && ySquare + 1 <= 7)
-			moveList.add(new Square(xSquare - 1, ySquare + 2, false));
-		if (xSquare + 2 <= 7 && ySquare - 1 >= 0)
-			moveList.add(new Square(xSquare + 2, ySquare - 1, false));
-		if (xSquare + 1 <= 7 && ySquare + 2 <= 7)
-			moveList.add(new Square(xSquare + 1, ySquare + 2, false));
-		if (xSquare + 2 <= 7 && ySquare + 1 <= 7)
-			moveList.add(new Square(xSquare + 2, ySquare + 1, false));
-	}
-
-	@Override
-	public void updateMoves() {
-		List<Square> updatedMoveList = new ArrayList<Square>();
-		if (xSquare - 1 >= 0 && ySquare - 2 >= 0)
-			updatedMoveList.add(new Square(xSquare - 1, ySquare - 2, false));
-		if (xSquare - 2 >= 0 && ySquare - 1 >= 0)
-			updatedMoveList.add(new Square(xSquare - 2, ySquare - 1, false));
-		if (xSquare + 1 <= 7 && ySquare - 2 >= 0)
-			updatedMoveList.add(new Square(xSquare + 1, ySquare - 2, false));
-		if (xSquare - 2 >= 0 && ySquare + 1 <= 7)
-			updatedMoveList.add(new Square(xSquare - 2, ySquare + 1, false));
-		if (xSquare - 1 >= 0 && ySquare + 1 <= 7)
-			updatedMoveList.add(new Square(xSquare - 1, ySquare + 2, false));
-		if (xSquare + 2 <= 7 && ySquare - 1 >= 0)
-			updatedMoveList.add(new Square(xSquare + 2, ySquare - 1, false));
-		if (xSquare + 1 <= 7 && ySquare + 2 <= 7)
-			updatedMoveList.add(new Square(xSquare + 1, ySquare + 2, false));
-		if (xSquare + 2 <= 7 && ySquare + 1 <= 7)
-			updatedMoveList.add(new Square(xSquare + 2, ySquare + 1, false));
-		moveList = updatedMoveList;
-	}
-	
 	private boolean squareInMoves(int x2, int y2) {
-		for (int i = 0; i < moveList.size(); i++) {
-			if (moveList.get(i).getXSquare() == x2 && moveList.get(i).getYSquare() == y2)
-				return true;
-		}
-		return false;
+		return canSee(x2, y2);
 	}
 	
 	@Override
 	public List<Square> getMoveList() {
-		return moveList;
+		return Game.toSquares(Attacks.knight(Game.toIndex(xSquare, ySquare)));
 	}
 	
 	@Override
 	public boolean canSee(int x2, int y2) {
-		Square temp = new Square(x2, y2, false);
-		return moveList.contains(temp);
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0) return false;
+		return (Attacks.knight(Game.toIndex(xSquare, ySquare)) & (1L << Game.toIndex(x2, y2))) != 0;
 	}
 
 	@Override
@@ -161,12 +116,17 @@ public class Knight implements ChessPiece {
 	}
 
 	@Override
-	public Color getColor() {
-		return pieceColor;
+	public Side getSide() {
+		return side;
 	}
 
 	@Override
 	public int getValue() {
 		return value;
 	}
+
+	@Override
+	public PieceType getType() {
+		return PieceType.KNIGHT;
+	}
 }
@@ -0,0 +1,92 @@
+package chessPieces;
+
+import java.util.Collections;
+import java.util.List;
+
+import chessModel.Side;
+import chessObjects.Square;
+
+/**
+ * Immutable placeholder returned for empty squares, so square lookups never return null and never
+ * need to allocate. It belongs to neither side and cannot move, capture or see anything
+ */
+public final class NoPiece implements ChessPiece {
+
+	/** Shared instance used for every empty square */
+	public static final ChessPiece EMPTY = new NoPiece();
+
+	private NoPiece() {
+	}
+
+	@Override
+	public boolean canMove(int x2, int y2) {
+		return false;
+	}
+
+	@Override
+	public boolean canCapture(int x2, int y2) {
+		return false;
+	}
+
+	@Override
+	public boolean canSee(int x2, int y2) {
+		return false;
+	}
+
+	@Override
+	public void move(int xDisplacement, int yDisplacement) {
+	}
+
+	@Override
+	public ChessPiece capture(int x2, int y2) {
+		return this;
+	}
+
+	@Override
+	public ChessPiece removePiece() {
+		return this;
+	}
+
+	@Override
+	public List<Square> getMoveList() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public int getXSquare() {
+		return -10;
+	}
+
+	@Override
+	public int getYSquare() {
+		return -10;
+	}
+
+	@Override
+	public int getXCoord() {
+		return 0;
+	}
+
+	@Override
+	public int getYCoord() {
+		return 0;
+	}
+
+	/**
+	 * Returns null, since no piece belongs to neither side
+	 */
+	@Override
+	public Side getSide() {
+		return null;
+	}
+
+	@Override
+	public int getValue() {
+		return 0;
+	}
+
+	@Override
+	public PieceType getType() {
+		return PieceType.NONE;
+	}
+}
@@ -1,10 +1,11 @@
 package chessPieces;
 
-import java.awt.Color;
-import java.util.ArrayList;
 import java.util.List;
 
-import chessControllers.Chess;
+import chessControllers.Game;
+import chessModel.Attacks;
+import chessModel.Position;
+import chessModel.Side;
 import chessObjects.Square;
 
 /**
@@ -15,6 +16,8 @@ import chessObjects.Square;
  */
 public class Pawn implements ChessPiece {
 
+	/** Game the piece belongs to */
+	private final Game game;
 	/** x component of square array (0-7) */ 
 	private int xSquare;
 	/** y component of square array (0-7) */
@@ -25,43 +28,42 @@ public class Pawn implements ChessPiece {
 	private int yCoord;
 	/** boolean for two square move ability of pawn's first move */
 	private boolean hasMoved;
-	/** boolean for canMove() and canCapture() methods */
-	private Color pieceColor;
+	/** Side the piece plays for, used in canMove() and canCapture() methods */
+	private Side side;
 	/** integer used for move direction based on piece color */
 	private int movementDirection;
 	/** Piece value for tracking instantaneous advantage and piece tracking - Pawn = 1, Bishop/Knight = 3, Rook = 5, Queen = 9 */
 	private int value;
-	/** Boolean used for en-passant */
-	private boolean justMovedTwo;
-	/** List of squares that can be reached by this piece, used for check/check-mate functionality */
-	private List<Square> moveList = new ArrayList<Square>();
+	/** Position color index of piece, used for attack table lookups */
+	private int colorIndex;
 
 	/**
 	 * constructor for Pawn chess piece
+	 * @param g game the piece belongs to
 	 * @param xStart x-component of piece's square
 	 * @param yStart y-component of piece's square
 	 * @param xC x-coordinate of piece
 	 * @param yC y-coordinate of piece
-	 * @param pc piece color
+	 * @param s side of piece
 	 */
-	public Pawn(int xStart, int yStart, int xC, int yC, Color pc) {
+	public Pawn(Game g, int xStart, int yStart, int xC, int yC, Side s) {
+		game = g;
 		xSquare = xStart;
 		ySquare = yStart;
 		xCoord = xC;
 		yCoord = yC;
 		hasMoved = false;
-		pieceColor = pc;
-		movementDirection = pieceColor.equals(Color.WHITE) ? 1: -1;
+		side = s;
+		movementDirection = side == Side.WHITE ? 1: -1;
+		colorIndex = side.index();
 		value = 1;
-		justMovedTwo = false;
-		populateMoves();
 	}
 
 	// TODO does not take into account en-passant
 	@Override
 	public boolean canMove(int x2, int y2) {
 		return ((x2 == xSquare) && ((y2 == ySquare - 1 * movementDirection) || (y2 == ySquare - 2 * movementDirection && 
-				!hasMoved && !Chess.isOccupied(x2, y2 + movementDirection)))) && !Chess.isOccupied(x2, y2);
+				!hasMoved && !game.isOccupied(x2, y2 + movementDirection)))) && !game.isOccupied(x2, y2);
 	}
 
 	/**
@@ -72,78 +74,45 @@ public class Pawn implements ChessPiece {
 	@Override
 	public boolean canCapture(int x2, int y2) {
 		return (((x2 == xSquare - 1 * movementDirection || x2 == xSquare + 1 * movementDirection) && (y2 == ySquare - 1 * 
-				movementDirection)) && Chess.isOccupied(x2, y2) && !Chess.getPiece(x2, y2).getColor().equals(getColor())) || canEnPassant(x2, y2);
+				movementDirection)) && game.isOccupied(x2, y2) && game.getPiece(x2, y2).getSide() != side) || canEnPassant(x2, y2);
 	}
 
 
 	/**
-	 * Logic explained from perspective of white pieces for reference:
-	 * return (below square has pawn AND below square's pawn moved last move AND such pawn is opposite color
-	 * @param x2
-	 * @param y2
-	 * @return
+	 * Returns true if capturing on specified square is an en passant capture: the square is the position's
+	 * en passant square, this pawn attacks it and its side is to move
+	 * @param x2 x index of square array
+	 * @param y2 y index of square array
+	 * @return true if en passant, false otherwise
 	 */
 	public boolean canEnPassant(int x2, int y2) {
-		//TODO: check whether adjacent pieces exist first to avoid NPE, NPE still caused if pawn is a or h
-		//TODO: needs re-factoring/simplification
-		int ySquareForEnPassant = (pieceColor.equals(Color.WHITE)) ? 3 : 4; 
-		if (!Chess.isOccupied(x2, y2 + movementDirection) || ySquare != ySquareForEnPassant || !(xSquare <= x2 + 1 && xSquare >= x2 - 1))
-			return false;
-		System.out.println("Last x: " + Chess.getLastClick().getXSquare() + ", last y: " + Chess.getLastClick().getYSquare());
-		if (!Chess.getPiece(x2, y2).getClass().toString().equals("class chessPieces.Pawn")) return false;
-		Pawn otherPiece = (Pawn) Chess.getPiece(x2, y2 + movementDirection);
-		boolean thatPawnJustMovedTwo = otherPiece.getJustMovedTwo();
-		boolean belowSquareIsPawn = Chess.getPiece(x2, y2 + movementDirection).getClass().toString().equals("class chessPieces.Pawn");
-		boolean lastMoveSquareX = Chess.getLastClick().getXSquare() == x2;
-		boolean lastMoveSquareY = Chess.getLastClick().getYSquare() == y2 + movementDirection;
-		System.out.println(thatPawnJustMovedTwo + " " + belowSquareIsPawn + " " + lastMoveSquareX + " " + lastMoveSquareY + 
-				" " + !Chess.getPiece(x2, y2 + movementDirection).getColor().equals(pieceColor));
-		return thatPawnJustMovedTwo && belowSquareIsPawn && lastMoveSquareX && lastMoveSquareY && !Chess.getPiece(x2, y2 + movementDirection).getColor().equals(getColor());
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0) return false;
+		Position position = game.getPosition();
+		int square = Game.toIndex(x2, y2);
+		return position.getSideToMove() == colorIndex && position.getEnPassantSquare() == square
+				&& (Attacks.pawn(colorIndex, Game.toIndex(xSquare, ySquare)) & (1L << square)) != 0;
 	}
 
 	@Override
 	public void move(int xDisplacement, int yDisplacement) {
-		justMovedTwo = (yDisplacement == 120 || yDisplacement == -120) ? true: false;
 		xCoord += xDisplacement;
 		yCoord += yDisplacement;
-		xSquare += (xDisplacement / Chess.getSquareDimension());
-		ySquare += (yDisplacement / Chess.getSquareDimension());
+		xSquare += (xDisplacement / Game.getSquareDimension());
+		ySquare += (yDisplacement / Game.getSquareDimension());
 		hasMoved = true;
 	}
 
 	@Override
 	public ChessPiece capture(int x2, int y2) {
 		if (canEnPassant(x2, y2))
-			return Chess.getPiece(x2, y2 + movementDirection).removePiece();
-		return Chess.getPiece(x2, y2).removePiece();
+			return game.getPiece(x2, y2 + movementDirection).removePiece();
+		return game.getPiece(x2, y2).removePiece();
 	}
 
 	public void promote() {
-		if (Chess.getOrientation().equals(Color.WHITE)) {
-			if (pieceColor.equals(Color.WHITE)) {
-				if (ySquare == 0) {
-					//promote
-					Chess.promotePawn(this);
-				}
-			} else {
-				if (ySquare == 7) {
-					//promote
-					Chess.promotePawn(this);
-				}
-			}
-		} else {
-			if (pieceColor.equals(Color.WHITE)) {
-				if (ySquare == 7) {
-					//promote
-					Chess.promotePawn(this);
-				}
-			} else {
-				if (ySquare == 0) {
-					//promote
-					Chess.promotePawn(this);
-				}
-			}
-		}
+		// white pawns promote on the top row of the board, black pawns on the bottom row
+		if (ySquare == (side == Side.WHITE ? 0 : 7))
+			game.promotePawn(this);
 	}
 
 	@Override
@@ -156,63 +125,19 @@ public class Pawn implements ChessPiece {
 
 	@Override
 	public List<Square> getMoveList() {
-		return moveList;
-	}
-
-	@Override
-	public void populateMoves() {
-		int yBound = pieceColor.equals(Color.WHITE) ? 0: 7;
-		if (xSquare + 1 <= 7) {
-			if (pieceColor.equals(Color.WHITE)) {
-				if (ySquare - movementDirection >= yBound)
-					moveList.add(new Square(xSquare + 1, ySquare - movementDirection, false));
-			} else if (ySquare - movementDirection <= yBound)
-				moveList.add(new Square(xSquare + 1, ySquare - movementDirection, false));
-		}	
-		if (xSquare - 1 >= 0) {
-			if (pieceColor.equals(Color.WHITE)) {
-				if (ySquare - movementDirection >= yBound)
-					moveList.add(new Square(xSquare - 1, ySquare - movementDirection, false));
-			} else if (ySquare - movementDirection <= yBound)
-				moveList.add(new Square(xSquare - 1, ySquare - movementDirection, false));
-		}
-	}
-
-	@Override
-	public void updateMoves() {
-		List<Square> updatedMoveList = new ArrayList<Square>();
-		int yBound = pieceColor.equals(Color.WHITE) ? 0: 7;
-		if (xSquare + 1 <= 7) {
-			if (pieceColor.equals(Color.WHITE)) {
-				if (ySquare - movementDirection >= yBound)
-					updatedMoveList.add(new Square(xSquare + 1, ySquare - movementDirection, false));
-			} else if (ySquare - movementDirection <= yBound)
-				updatedMoveList.add(new Square(xSquare + 1, ySquare - movementDirection, false));
-		}	
-		if (xSquare - 1 >= 0) {
-			if (pieceColor.equals(Color.WHITE)) {
-				if (ySquare - movementDirection >= yBound)
-					updatedMoveList.add(new Square(xSquare - 1, ySquare - movementDirection, false));
-			} else if (ySquare - movementDirection <= yBound)
-				updatedMoveList.add(new Square(xSquare - 1, ySquare - movementDirection, false));
-		}
-		moveList = updatedMoveList;
+		return Game.toSquares(Attacks.pawn(colorIndex, Game.toIndex(xSquare, ySquare)));
 	}
 
 	@Override
 	public boolean canSee(int x2, int y2) {
-		Square temp = new Square(x2, y2, false);
-		return moveList.contains(temp);
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0) return false;
+		return (Attacks.pawn(colorIndex, Game.toIndex(xSquare, ySquare)) & (1L << Game.toIndex(x2, y2))) != 0;
 	}
 	
 	public void resetHasMoved() {
 		hasMoved = false;
 	}
 	
-	public void flipMovementDirection() {
-		movementDirection *= -1;
-	}
-	
 	@Override
 	public int getXSquare() {
 		return xSquare;
@@ -234,8 +159,8 @@ public class Pawn implements ChessPiece {
 	}
 
 	@Override
-	public Color getColor() {
-		return pieceColor;
+	public Side getSide() {
+		return side;
 	}
 
 	@Override
@@ -243,10 +168,11 @@ public class Pawn implements ChessPiece {
 		return value;
 	}
 
-	public boolean getJustMovedTwo() {
-		return justMovedTwo;
+	@Override
+	public PieceType getType() {
+		return PieceType.PAWN;
 	}
-	
+
 	public boolean getHasMoved() {
 		return hasMoved;
 	}
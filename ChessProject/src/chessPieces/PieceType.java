@@ -0,0 +1,45 @@
+package chessPieces;
+
+import chessModel.Position;
+
+/**
+ * Type of a chess piece. Each type carries the position's piece type index, so a piece's type can be
+ * compared with a single reference check and used directly to index type tables
+ */
+public enum PieceType {
+
+	PAWN(Position.PAWN),
+	KNIGHT(Position.KNIGHT),
+	BISHOP(Position.BISHOP),
+	ROOK(Position.ROOK),
+	QUEEN(Position.QUEEN),
+	KING(Position.KING),
+	/** Type of NoPiece.EMPTY, standing on empty squares */
+	NONE(Position.NO_PIECE);
+
+	/** Position piece type index */
+	private final int index;
+
+	PieceType(int index) {
+		this.index = index;
+	}
+
+	/**
+	 * Returns the type of a position piece type index
+	 * @param index Position.PAWN through Position.KING
+	 * @return type of index
+	 */
+	public static PieceType of(int index) {
+		if (index < Position.PAWN || index > Position.KING)
+			throw new IllegalArgumentException("Error: piece type index must be between Position.PAWN and Position.KING");
+		return values()[index];
+	}
+
+	/**
+	 * Returns the position's piece type index of the type
+	 * @return Position.PAWN through Position.KING, or Position.NO_PIECE for NONE
+	 */
+	public int getIndex() {
+		return index;
+	}
+}
@@ -1,10 +1,10 @@
 package chessPieces;
 
-import java.awt.Color;
-import java.util.ArrayList;
 import java.util.List;
 
-import chessControllers.Chess;
+import chessControllers.Game;
+import chessModel.Attacks;
+import chessModel.Side;
 import chessObjects.Square;
 
 /**
@@ -15,6 +15,8 @@ import chessObjects.Square;
  */
 public class Rook implements ChessPiece {
 
+	/** Game the piece belongs to */
+	private final Game game;
 	/** x component of square array (0-7) */ 
 	private int xSquare;
 	/** y component of square array (0-7) */
@@ -23,44 +25,41 @@ public class Rook implements ChessPiece {
 	private int xCoord;
 	/** y component of pixel array (0-479) */
 	private int yCoord;
-	/** boolean for canMove() and canCapture() methods */
-	private Color pieceColor;
+	/** Side the piece plays for, used in canMove() and canCapture() methods */
+	private Side side;
 	/** Piece value for tracking instantaneous advantage and piece tracking - Pawn = 1, Bishop/Knight = 3, Rook = 5, Queen = 9 */
 	private int value;
 	/** Boolean used for castling */
 	private boolean hasMoved;
-	/** List of squares that can be reached by this piece, used for check/check-mate functionality */
-	private List<Square> moveList = new ArrayList<Square>();
 	
 	/**
 	 * Constructor for Rook chess piece
+	 * @param g game the piece belongs to
 	 * @param xStart x-component of piece's square
 	 * @param yStart y-component of piece's square
 	 * @param xC x-coordinate of piece
 	 * @param yC y-coordinate of piece
-	 * @param pc piece color
+	 * @param s side of piece
 	 */
-	public Rook(int xStart, int yStart, int xC, int yC, Color pc) {
+	public Rook(Game g, int xStart, int yStart, int xC, int yC, Side s) {
+		game = g;
 		xSquare = xStart;
 		ySquare = yStart;
 		xCoord = xC;
 		yCoord = yC;
-		pieceColor = pc;
+		side = s;
 		value = 5;
 		hasMoved = false;
-		populateMoves();
 	}
 	
 	@Override
 	public boolean canMove(int x2, int y2) {
-		boolean validSquare = x2 == xSquare || y2 == ySquare;
-		return validSquare && !Chess.isOccupied(x2, y2) && !hasTravelIntersections(x2, y2);
+		return !game.isOccupied(x2, y2) && canSee(x2, y2);
 	}
 
 	@Override
 	public boolean canCapture(int x2, int y2) {
-		boolean validSquare = x2 == xSquare || y2 == ySquare;
-		return validSquare && Chess.isOccupied(x2, y2) && !hasTravelIntersections(x2, y2) && !Chess.getPiece(x2, y2).getColor().equals(pieceColor);
+		return game.isOccupied(x2, y2) && game.getPiece(x2, y2).getSide() != side && canSee(x2, y2);
 	}
 
 	@Override
@@ -68,13 +67,13 @@ public class Rook implements ChessPiece {
 		hasMoved = true;
 		xCoord += xDisplacement;
 		yCoord += yDisplacement;
-		xSquare += (xDisplacement / Chess.getSquareDimension());
-		ySquare += (yDisplacement / Chess.getSquareDimension());
+		xSquare += (xDisplacement / Game.getSquareDimension());
+		ySquare += (yDisplacement / Game.getSquareDimension());
 	}
 
 	@Override
 	public ChessPiece capture(int x2, int y2) {
-		return Chess.getPiece(x2, y2).removePiece();
+		return game.getPiece(x2, y2).removePiece();
 	}
 
 	@Override
@@ -85,131 +84,23 @@ public class Rook implements ChessPiece {
 		return this;
 	}
 	
-	public boolean hasTravelIntersections(int x2, int y2) {
-		boolean n = false, s = false, e = false, w = false;
-		if (xSquare == x2) {
-			n = true;
-			s = true;
-		} else {
-			w = true;
-			e = true;
-		}
-		if (y2 > ySquare) {
-			n = false;
-		} else if (x2 > xSquare) {
-			w = false;
-		} else if (ySquare > y2) {
-			s = false;
-		} else if (xSquare > x2) {
-			e = false;
-		}
-		int difference = 0;
-		if (n || s)
-			difference = Math.abs(ySquare - y2);
-		if (w || e)
-			difference = Math.abs(xSquare - x2);
-		for (int i = 1; i < difference; i++) {
-			if (n) {
-				if (Chess.isOccupied(xSquare, ySquare - i))
-					return true;
-			} if (s) {
-				if (Chess.isOccupied(xSquare, ySquare + i))
-					return true;
-			} if (e) {
-				if (Chess.isOccupied(xSquare + i, ySquare))
-					return true;
-			} if (w) {
-				if (Chess.isOccupied(xSquare - i, ySquare))
-					return true;
-			}
-		}
-		return false;
-	}
-
-	@Override
-	public void populateMoves() {
-		for (int i = 1; i < 8; i++) {
-			if (xSquare - i >= 0 && !hasTravelIntersections(xSquare - i, ySquare))
-				moveList.add(new Square(xSquare - i, ySquare, false));
-			if (xSquare + i <= 7 && !hasTravelIntersections(xSquare + i, ySquare))
-				moveList.add(new Square(xSquare + i, ySquare, false));
-			if (ySquare - i >= 0 && !hasTravelIntersections(xSquare, ySquare - i))
-				moveList.add(new Square(xSquare, ySquare - i, false));
-			if (ySquare + i <= 7 && !hasTravelIntersections(xSquare, ySquare + i))
-				moveList.add(new Square(xSquare, ySquare + i, false));
-		}
-	}
-	
-	@Override
-	public void updateMoves() {
-		List<Square> updatedPossibleMoves = new ArrayList<Square>();
-		for (int i = 1; i < 8; i++) {
-			if (xSquare - i >= 0 && !hasTravelIntersections(xSquare - i, ySquare))
-				updatedPossibleMoves.add(new Square(xSquare - i, ySquare, false));
-			if (xSquare + i <= 7 && !hasTravelIntersections(xSquare + i, ySquare))
-				updatedPossibleMoves.add(new Square(xSquare + i, ySquare, false));
-			if (ySquare - i >= 0 && !hasTravelIntersections(xSquare, ySquare - i))
-				updatedPossibleMoves.add(new Square(xSquare, ySquare - i, false));
-			if (ySquare + i <= 7 && !hasTravelIntersections(xSquare, ySquare + i))
-				updatedPossibleMoves.add(new Square(xSquare, ySquare + i, false));
-		}
-		moveList = updatedPossibleMoves;
-	}
-	
 	@Override
 	public List<Square> getMoveList() {
-		return moveList;
+		return Game.toSquares(attacks());
 	}
 
 	@Override
 	public boolean canSee(int x2, int y2) {
-		boolean nextSquareBehindPiece = false;
-		boolean n = false, s = false, e = false, w = false;
-		if (xSquare == x2) {
-			n = true;
-			s = true;
-		} else {
-			w = true;
-			e = true;
-		}
-		if (y2 > ySquare) {
-			n = false;
-		} else if (x2 > xSquare) {
-			w = false;
-		} else if (ySquare > y2) {
-			s = false;
-		} else if (xSquare > x2) {
-			e = false;
-		}
-		int difference = 0;
-		if (n || s)
-			difference = Math.abs(ySquare - y2);
-		if (w || e)
-			difference = Math.abs(xSquare - x2);
-		for (int i = 1; i < difference; i++) {
-			if (n) {
-				if (Chess.isOccupied(xSquare, ySquare - i)) {
-					if (nextSquareBehindPiece) return true;
-					nextSquareBehindPiece = true;
-				}
-			} if (s) {
-				if (Chess.isOccupied(xSquare, ySquare + i)) {
-					if (nextSquareBehindPiece) return true;
-					nextSquareBehindPiece = true;
-				}
-			} if (e) {
-				if (Chess.isOccupied(xSquare + i, ySquare)) {
-					if (nextSquareBehindPiece) return true;
-					nextSquareBehindPiece = true;
-				}
-			} if (w) {
-				if (Chess.isOccupied(xSquare - i, ySquare)) {
-					if (nextSquareBehindPiece) return true;
-					nextSquareBehindPiece = true;
-				}
-			}
-		}
-		return false;
+		if (x2 > 7 || y2 > 7 || x2 < 0 || y2 < 0) return false;
+		return (attacks() & (1L << Game.toIndex(x2, y2))) != 0;
+	}
+
+	/**
+	 * Returns the squares this rook attacks on the current board, including the first blocker of each ray
+	 * @return bitboard of attacked squares
+	 */
+	private long attacks() {
+		return Attacks.rook(Game.toIndex(xSquare, ySquare), game.getPosition().getOccupied());
 	}
 	
 	public void resetHasMoved() {
@@ -237,14 +128,19 @@ public class Rook implements ChessPiece {
 	}
 
 	@Override
-	public Color getColor() {
-		return pieceColor;
+	public Side getSide() {
+		return side;
 	}
 
 	@Override
 	public int getValue() {
 		return value;
 	}
+
+	@Override
+	public PieceType getType() {
+		return PieceType.ROOK;
+	}
 	
 	public boolean getHasMoved() {
 		return hasMoved;